@@ -1,17 +1,23 @@
-import io.LectorMatriz;
+import io.CargadorGrafo;
 import io.SelectorDeArchivo;
-import io.ValidadorMatriz;
 import structures.Graph;
 import utils.GraphAnalizer;
+import utils.GraphEstimator;
+import utils.GraphReorderer;
+import utils.TriangleCounter;
 import java.io.IOException;
 import java.nio.file.Path;
 import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.List;
 import java.util.Scanner;
 
 public class Main {
 
     private static Graph currentGraph = null;
+    private static final double EPSILON_CENTRALIDAD = 0.05;
+    private static final double DELTA_CENTRALIDAD = 0.1;
     private static final Scanner scanner = new Scanner(System.in);
 
     public static void main(String[] args) {
@@ -78,7 +84,7 @@ public class Main {
         System.out.println(ANSI.BRIGHT_BLACK + "    (Exploración exhaustiva de ramas)" + ANSI.RESET);
         System.out.println("");
         System.out.println(ANSI.WHITE_BOLD + " 4. " + ANSI.RESET + "ANÁLISIS AVANZADO");
-        System.out.println(ANSI.BRIGHT_BLACK + "    (Detectar Ciclos y contar Componentes Conexas)" + ANSI.RESET);
+        System.out.println(ANSI.BRIGHT_BLACK + "    (Ciclos, Componentes, Diámetro, Centralidad y Triángulos)" + ANSI.RESET);
         System.out.println("");
         System.out.println(ANSI.WHITE_BOLD + " 5. " + ANSI.RESET + "VER ESTRUCTURA");
         System.out.println(ANSI.BRIGHT_BLACK + "    (Imprime la Lista de Adyacencia actual)" + ANSI.RESET);
@@ -99,13 +105,14 @@ public class Main {
             Path archivoSeleccionado = selector.escogerArchivoDeCarpeta(carpeta);
 
             System.out.println("\nLeyendo archivo: " + ANSI.YELLOW + archivoSeleccionado.getFileName() + ANSI.RESET + "...");
-            int[][] matriz = LectorMatriz.cargar(archivoSeleccionado.toString());
-
-            System.out.print("Validando estructura de la matriz... ");
-            ValidadorMatriz.validar(matriz);
-            System.out.println(ANSI.GREEN + "OK." + ANSI.RESET);
-
-            currentGraph = new Graph(matriz);
+            // Lectura, validación y construcción se ejecutan en paralelo por etapas
+            Graph cargado = CargadorGrafo.cargar(archivoSeleccionado, (bytes, total, filas) ->
+                    System.out.printf("\r   Leídos %d de %d bytes, %d filas procesadas", bytes, total, filas));
+            System.out.println();
+            System.out.println("Validando estructura de la matriz... " + ANSI.GREEN + "OK." + ANSI.RESET);
+
+            currentGraph = reordenarInteractivo(cargado);
+            comprimirInteractivo(currentGraph);
             System.out.println("\n" + ANSI.GREEN_BOLD + "¡Grafo cargado exitosamente!" + ANSI.RESET);
             System.out.println("   -> Vértices detectados: " + ANSI.CYAN + currentGraph.getnVertices() + ANSI.RESET);
             System.out.println("   -> Modo: " + ANSI.CYAN + (currentGraph.isDirected() ? "Dirigido" : "No Dirigido") + ANSI.RESET);
@@ -117,6 +124,50 @@ public class Main {
         }
     }
 
+    /**
+     * Etapa opcional posterior a la carga: renumera los vértices para mejorar la
+     * localidad de los recorridos. Las salidas siguen usando los ids del archivo.
+     */
+    private static Graph reordenarInteractivo(Graph graph) {
+        System.out.println("\nReordenamiento de vértices (mejora la localidad en caché):");
+        System.out.println("   [0] Ninguno   [1] Reverse Cuthill-McKee   [2] Grado descendente   [3] Orden BFS");
+        int opcion = getIntInput(ANSI.YELLOW + "Seleccione una estrategia: " + ANSI.RESET);
+
+        GraphReorderer.Estrategia estrategia;
+        switch (opcion) {
+            case 1:
+                estrategia = GraphReorderer.Estrategia.RCM;
+                break;
+            case 2:
+                estrategia = GraphReorderer.Estrategia.GRADO_DESCENDENTE;
+                break;
+            case 3:
+                estrategia = GraphReorderer.Estrategia.BFS;
+                break;
+            default:
+                return graph;
+        }
+
+        int antes = graph.bandwidth();
+        Graph reordenado = GraphReorderer.reordenar(graph, estrategia);
+        System.out.println("   -> Ancho de banda: " + ANSI.CYAN + antes + ANSI.RESET
+                + " -> " + ANSI.CYAN + reordenado.bandwidth() + ANSI.RESET);
+        return reordenado;
+    }
+
+    /**
+     * Etapa opcional: guarda los vecinos comprimidos (gaps + varint) para ocupar menos memoria.
+     */
+    private static void comprimirInteractivo(Graph graph) {
+        int opcion = getIntInput(ANSI.YELLOW + "¿Comprimir las listas de adyacencia? (1 = Sí, 0 = No): " + ANSI.RESET);
+        if (opcion != 1) return;
+
+        long antes = graph.sizeInBytes();
+        graph.compress();
+        System.out.println("   -> Adyacencia: " + ANSI.CYAN + antes + " bytes" + ANSI.RESET
+                + " -> " + ANSI.CYAN + graph.sizeInBytes() + " bytes" + ANSI.RESET);
+    }
+
     private static void ejecutarBFS() {
         if (currentGraph == null) {
             System.out.println(ANSI.RED_BOLD + "\nError: Primero debe cargar un grafo (Opción 1)." + ANSI.RESET);
@@ -129,8 +180,8 @@ public class Main {
         int startNode = solicitarNodo("Ingrese el nodo de inicio (Raíz)");
         if (startNode == -1) return;
 
-        List<Integer> orden = currentGraph.bfs(startNode);
-        System.out.println("\n" + ANSI.GREEN + "Orden de visita (BFS): " + orden + ANSI.RESET);
+        List<Integer> orden = currentGraph.bfs(currentGraph.getInternalId(startNode));
+        System.out.println("\n" + ANSI.GREEN + "Orden de visita (BFS): " + aIdsOriginales(orden) + ANSI.RESET);
 
         System.out.println("\n" + ANSI.YELLOW + "Tabla de Distancias Mínimas desde el nodo " + startNode + ":" + ANSI.RESET);
         GraphAnalizer.imprimirTablaDistancias(currentGraph);
@@ -148,8 +199,8 @@ public class Main {
         int startNode = solicitarNodo("Ingrese el nodo de inicio");
         if (startNode == -1) return;
 
-        List<Integer> orden = currentGraph.dfs(startNode);
-        System.out.println("\n" + ANSI.GREEN + "Orden de visita (DFS): " + orden + ANSI.RESET);
+        List<Integer> orden = currentGraph.dfs(currentGraph.getInternalId(startNode));
+        System.out.println("\n" + ANSI.GREEN + "Orden de visita (DFS): " + aIdsOriginales(orden) + ANSI.RESET);
     }
 
     private static void analizarExtensiones() {
@@ -185,6 +236,54 @@ public class Main {
         } else {
             System.out.println(ANSI.BRIGHT_BLACK + "Análisis de componentes omitido (El grafo es Dirigido)." + ANSI.RESET);
         }
+
+        // 3. Diámetro (doble barrido + iFUB)
+        System.out.print(ANSI.WHITE_BOLD + "3. Diámetro: " + ANSI.RESET);
+        GraphEstimator.EstimacionDiametro diametro = GraphEstimator.estimarDiametro(currentGraph, currentGraph.getInternalId(0), 0);
+        if (diametro.esExacto()) {
+            System.out.println(ANSI.YELLOW_BOLD + diametro.cotaInferior + ANSI.RESET
+                    + " (componente del vértice 0, " + diametro.bfsEjecutados + " BFS)");
+        } else {
+            System.out.println("al menos " + ANSI.YELLOW_BOLD + diametro.cotaInferior + ANSI.RESET
+                    + " (cota del doble barrido desde el vértice 0)");
+        }
+
+        // 4. Centralidad aproximada por muestreo
+        System.out.println(ANSI.WHITE_BOLD + "4. Vértices más centrales (aprox. ±" + (int) (EPSILON_CENTRALIDAD * 100) + "%):" + ANSI.RESET);
+        double[] intermediacion = GraphEstimator.intermediacionAproximada(currentGraph, EPSILON_CENTRALIDAD, DELTA_CENTRALIDAD, 42);
+        double[] cercania = GraphEstimator.cercaniaAproximada(currentGraph, EPSILON_CENTRALIDAD, DELTA_CENTRALIDAD, 42);
+        System.out.println("   Intermediación: " + ANSI.CYAN + mejoresVertices(intermediacion, 5) + ANSI.RESET);
+        System.out.println("   Cercanía:       " + ANSI.CYAN + mejoresVertices(cercania, 5) + ANSI.RESET);
+
+        // 5. Triángulos y clustering
+        System.out.print(ANSI.WHITE_BOLD + "5. Triángulos: " + ANSI.RESET);
+        if (!currentGraph.isDirected()) {
+            // Los conteos por vértice se calculan una vez y sirven para ambos valores
+            long[] porVertice = TriangleCounter.triangulosPorVertice(currentGraph);
+            long triangulos = TriangleCounter.contarTriangulos(porVertice);
+            double clustering = TriangleCounter.clusteringPromedio(currentGraph, porVertice);
+            System.out.println(ANSI.YELLOW_BOLD + triangulos + ANSI.RESET
+                    + String.format(" (coeficiente de clustering promedio: %.3f)", clustering));
+        } else {
+            System.out.println(ANSI.BRIGHT_BLACK + "Conteo omitido (El grafo es Dirigido)." + ANSI.RESET);
+        }
+    }
+
+    /**
+     * Devuelve los k vértices (ids originales) con mayor puntaje, con su valor.
+     */
+    private static String mejoresVertices(double[] puntajes, int k) {
+        Integer[] vertices = new Integer[puntajes.length];
+        for (int i = 0; i < vertices.length; i++) vertices[i] = i;
+        Arrays.sort(vertices, (x, y) -> Double.compare(puntajes[y], puntajes[x]));
+
+        StringBuilder sb = new StringBuilder();
+        for (int i = 0; i < Math.min(k, vertices.length); i++) {
+            if (i > 0) sb.append(", ");
+            sb.append(currentGraph.getOriginalId(vertices[i]))
+              .append(String.format(" (%.3f)", puntajes[vertices[i]]));
+        }
+        return sb.toString();
     }
 
     private static void mostrarInformacionGrafo() {
@@ -198,6 +297,17 @@ public class Main {
 
     // --- Helpers de Consola ---
 
+    /**
+     * Traduce un orden de visita con ids internos a los ids del archivo original.
+     */
+    private static List<Integer> aIdsOriginales(List<Integer> orden) {
+        List<Integer> originales = new ArrayList<>(orden.size());
+        for (int v : orden) {
+            originales.add(currentGraph.getOriginalId(v));
+        }
+        return originales;
+    }
+
     private static int solicitarNodo(String mensaje) {
         int n = currentGraph.getnVertices();
         int nodo = getIntInput(ANSI.YELLOW + mensaje + " (0 a " + (n - 1) + "): " + ANSI.RESET);
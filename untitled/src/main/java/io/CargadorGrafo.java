@@ -0,0 +1,251 @@
+package io;
+
+import structures.Graph;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.IntConsumer;
+
+/**
+ * Carga un grafo desde un archivo de matriz en tres etapas que trabajan a la vez,
+ * cada una en su propio hilo y conectadas por colas acotadas:
+ *
+ *   1. Lectura y conversión de las líneas a filas de enteros (por lotes).
+ *   2. Validación de cada fila (columnas y valores permitidos).
+ *   3. Construcción de la adyacencia: vecinos de cada fila y detección de asimetría
+ *      comparando la fila nueva con las anteriores.
+ *
+ * Así el tiempo total se acerca al de la etapa más lenta en lugar de a la suma de las tres.
+ * Las colas acotadas evitan que una etapa rápida acumule todo el archivo en memoria.
+ */
+public class CargadorGrafo {
+
+    private static final int FILAS_POR_LOTE = 64;
+    private static final int CAPACIDAD_COLA = 16;
+
+    // Marca de fin de datos entre etapas (se compara por identidad)
+    private static final List<int[]> FIN = Collections.unmodifiableList(new ArrayList<>());
+
+    /**
+     * Recibe el avance de la carga. Se invoca desde los hilos de la carga, una vez por lote.
+     */
+    @FunctionalInterface
+    public interface ProgresoCarga {
+        /**
+         * @param bytesLeidos     Bytes del archivo leídos hasta el momento.
+         * @param bytesTotales    Tamaño del archivo.
+         * @param filasProcesadas Filas ya incorporadas al grafo.
+         */
+        void actualizar(long bytesLeidos, long bytesTotales, int filasProcesadas);
+    }
+
+    /**
+     * Inicia la carga en segundo plano.
+     *
+     * @param archivo  Archivo con la matriz de adyacencia.
+     * @param progreso Receptor de avance (puede ser null).
+     * @return Futuro con el grafo; falla con IOException o IllegalArgumentException si el
+     *         archivo no se puede leer o la matriz no es válida. Cancelarlo detiene la carga.
+     */
+    public static CompletableFuture<Graph> cargarAsync(Path archivo, ProgresoCarga progreso) {
+        CompletableFuture<Graph> resultado = new CompletableFuture<>();
+        BlockingQueue<List<int[]>> leidas = new ArrayBlockingQueue<>(CAPACIDAD_COLA);
+        BlockingQueue<List<int[]>> validadas = new ArrayBlockingQueue<>(CAPACIDAD_COLA);
+        AtomicLong bytesLeidos = new AtomicLong();
+
+        long bytesTotales;
+        try {
+            bytesTotales = Files.size(archivo);
+        } catch (IOException e) {
+            resultado.completeExceptionally(e);
+            return resultado;
+        }
+
+        // Se crean los tres hilos antes de iniciarlos para que un fallo temprano pueda detenerlos a todos
+        List<Thread> hilos = new ArrayList<>(3);
+        hilos.add(etapa("lectura", resultado, () -> leer(archivo, leidas, bytesLeidos)));
+        hilos.add(etapa("validacion", resultado, () -> validar(leidas, validadas)));
+        hilos.add(etapa("construccion", resultado, () -> {
+            Graph graph = construir(validadas, filas -> {
+                if (progreso != null) progreso.actualizar(bytesLeidos.get(), bytesTotales, filas);
+            });
+            resultado.complete(graph);
+        }));
+        // Si el futuro se cancela o falla, se interrumpen las etapas que sigan trabajando
+        // (las bloqueadas en una cola salen de inmediato; las demás, al terminar su lote)
+        resultado.whenComplete((graph, error) -> {
+            if (error != null) {
+                for (Thread hilo : hilos) {
+                    if (hilo != Thread.currentThread()) hilo.interrupt();
+                }
+            }
+        });
+        hilos.forEach(Thread::start);
+        return resultado;
+    }
+
+    /**
+     * Versión bloqueante de {@link #cargarAsync}: espera el grafo y relanza el error original.
+     */
+    public static Graph cargar(Path archivo, ProgresoCarga progreso) throws IOException {
+        try {
+            return cargarAsync(archivo, progreso).join();
+        } catch (CompletionException e) {
+            Throwable causa = e.getCause();
+            if (causa instanceof IOException) throw (IOException) causa;
+            if (causa instanceof RuntimeException) throw (RuntimeException) causa;
+            if (causa instanceof Error) throw (Error) causa;
+            throw e;
+        }
+    }
+
+    // --- Etapas ---
+
+    /**
+     * Etapa 1: lee las líneas no vacías y las convierte a filas de enteros.
+     */
+    private static void leer(Path archivo, BlockingQueue<List<int[]>> salida, AtomicLong bytesLeidos)
+            throws IOException, InterruptedException {
+        try (BufferedReader reader = Files.newBufferedReader(archivo, StandardCharsets.UTF_8)) {
+            List<int[]> lote = new ArrayList<>(FILAS_POR_LOTE);
+            int indice = 0;
+            String linea;
+            while ((linea = reader.readLine()) != null) {
+                bytesLeidos.addAndGet(linea.length() + 1L); // aproximado: archivos de dígitos ASCII
+                linea = linea.trim();
+                if (linea.isEmpty()) continue;
+
+                lote.add(LectorMatriz.parsearFila(linea, indice++));
+                if (lote.size() == FILAS_POR_LOTE) {
+                    salida.put(lote);
+                    lote = new ArrayList<>(FILAS_POR_LOTE);
+                }
+            }
+            if (!lote.isEmpty()) salida.put(lote);
+            if (indice == 0) {
+                throw new IllegalArgumentException("Error: El archivo está vacío o no tiene datos válidos.");
+            }
+        }
+        salida.put(FIN);
+    }
+
+    /**
+     * Etapa 2: valida cada fila contra la cantidad de columnas de la primera.
+     * Los errores se informan con la misma prioridad que {@link LectorMatriz#cargar} seguido de
+     * {@link ValidadorMatriz#validar}: primero un valor no numérico en cualquier fila (lo
+     * reporta la etapa 1), después la primera fila con otra cantidad de columnas, después
+     * la forma cuadrada y por último el primer valor distinto de 0 y 1. Por eso los errores
+     * se guardan y se lanzan recién al terminar el archivo; desde el primero ya no se
+     * envían filas a la etapa 3.
+     */
+    private static void validar(BlockingQueue<List<int[]>> entrada, BlockingQueue<List<int[]>> salida)
+            throws InterruptedException {
+        int columnas = -1;
+        int filas = 0;
+        IllegalArgumentException errorForma = null;
+        IllegalArgumentException errorValor = null;
+        List<int[]> lote;
+        while ((lote = entrada.take()) != FIN) {
+            for (int[] fila : lote) {
+                if (columnas == -1) columnas = fila.length;
+                if (errorForma == null) {
+                    try {
+                        ValidadorMatriz.validarFormaFila(fila, filas, columnas);
+                    } catch (IllegalArgumentException e) {
+                        errorForma = e;
+                    }
+                }
+                if (errorForma == null && errorValor == null) {
+                    try {
+                        ValidadorMatriz.validarValoresFila(fila, filas);
+                    } catch (IllegalArgumentException e) {
+                        errorValor = e;
+                    }
+                }
+                filas++;
+            }
+            if (errorForma == null && errorValor == null) salida.put(lote);
+        }
+        if (errorForma != null) throw errorForma;
+        ValidadorMatriz.validarCantidadFilas(filas, columnas);
+        if (errorValor != null) throw errorValor;
+        salida.put(FIN);
+    }
+
+    /**
+     * Etapa 3: arma los vecinos de cada fila y compara la fila i con la columna i de las
+     * filas anteriores para saber si la matriz es simétrica (grafo no dirigido).
+     */
+    private static Graph construir(BlockingQueue<List<int[]>> entrada, IntConsumer avance)
+            throws InterruptedException {
+        List<int[]> matriz = new ArrayList<>();
+        List<int[]> vecinos = new ArrayList<>();
+        int[] buffer = new int[0];
+        boolean dirigido = false;
+
+        List<int[]> lote;
+        while ((lote = entrada.take()) != FIN) {
+            for (int[] fila : lote) {
+                int i = matriz.size();
+                if (buffer.length < fila.length) buffer = new int[fila.length];
+
+                int k = 0;
+                for (int j = 0; j < fila.length; j++) {
+                    if (fila[j] != 0) buffer[k++] = j;
+                }
+                // (si hay más filas que columnas la etapa 2 lo reportará al final)
+                if (!dirigido && i < fila.length) {
+                    for (int j = 0; j < i; j++) {
+                        if (fila[j] != matriz.get(j)[i]) {
+                            dirigido = true;
+                            break;
+                        }
+                    }
+                }
+                matriz.add(fila);
+                vecinos.add(Arrays.copyOf(buffer, k));
+            }
+            avance.accept(matriz.size());
+        }
+        return Graph.fromRows(matriz.toArray(new int[0][]), vecinos.toArray(new int[0][]), dirigido);
+    }
+
+    // --- Manejo de errores entre etapas ---
+
+    private interface Tarea {
+        void ejecutar() throws Exception;
+    }
+
+    /**
+     * Crea el hilo de una etapa: si falla, completa el futuro con el error, lo que detiene
+     * las demás etapas (ver cargarAsync). También se capturan
+     * los Error (por ejemplo OutOfMemoryError) para que quien espera el futuro no quede
+     * bloqueado para siempre.
+     */
+    private static Thread etapa(String nombre, CompletableFuture<Graph> resultado, Tarea tarea) {
+        Thread hilo = new Thread(() -> {
+            try {
+                tarea.ejecutar();
+            } catch (InterruptedException e) {
+                // La carga se canceló o falló otra etapa
+                Thread.currentThread().interrupt();
+            } catch (Throwable e) {
+                resultado.completeExceptionally(e);
+            }
+        }, "cargador-grafo-" + nombre);
+        hilo.setDaemon(true);
+        return hilo;
+    }
+}
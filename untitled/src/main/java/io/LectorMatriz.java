@@ -26,19 +26,29 @@ public class LectorMatriz {
         int[][] matriz = new int[filas][];
 
         for (int i = 0; i < filas; i++) {
-            String[] partes = lineas.get(i).split("\\s+");
-
-            int[] filaActual = new int[partes.length];
-            for (int j = 0; j < partes.length; j++) {
-                try {
-                    filaActual[j] = Integer.parseInt(partes[j]);
-                } catch (NumberFormatException e) {
-                    throw new IllegalArgumentException("Error: Valor no numérico encontrado en fila "
-                            + (i + 1) + ", columna " + (j + 1) + ": \"" + partes[j] + "\"");
-                }
-            }
-            matriz[i] = filaActual;
+            matriz[i] = parsearFila(lineas.get(i), i);
         }
         return matriz;
     }
+
+    /**
+     * Convierte una línea (ya sin espacios en los extremos) en una fila de la matriz.
+     *
+     * @param linea  Texto de la fila, con valores separados por espacios.
+     * @param indice Índice de la fila (desde 0), usado en los mensajes de error.
+     */
+    public static int[] parsearFila(String linea, int indice) {
+        String[] partes = linea.split("\\s+");
+
+        int[] filaActual = new int[partes.length];
+        for (int j = 0; j < partes.length; j++) {
+            try {
+                filaActual[j] = Integer.parseInt(partes[j]);
+            } catch (NumberFormatException e) {
+                throw new IllegalArgumentException("Error: Valor no numérico encontrado en fila "
+                        + (indice + 1) + ", columna " + (j + 1) + ": \"" + partes[j] + "\"");
+            }
+        }
+        return filaActual;
+    }
 }
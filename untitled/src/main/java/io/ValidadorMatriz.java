@@ -46,20 +46,65 @@ public class ValidadorMatriz {
         }
     }
 
+    /**
+     * Valida la cantidad de columnas de una sola fila a medida que se lee (cargas por etapas).
+     * La forma cuadrada se comprueba al final con {@link #validarCantidadFilas} y los
+     * valores con {@link #validarValoresFila}, en el mismo orden que {@link #validar}.
+     *
+     * @param fila     Fila a validar.
+     * @param f        Índice de la fila (desde 0).
+     * @param columnas Cantidad de columnas esperada (la de la primera fila).
+     */
+    public static void validarFormaFila(int[] fila, int f, int columnas) {
+        if (fila == null) {
+            throw new IllegalArgumentException("Error: Fila " + (f + 1) + " es nula.");
+        }
+        if (columnas == 0) {
+            throw new IllegalArgumentException("Error: Matriz sin columnas.");
+        }
+        if (fila.length != columnas) {
+            throw new IllegalArgumentException("Error: La fila " + (f + 1)
+                    + " tiene " + fila.length + " columnas en lugar de " + columnas + ".");
+        }
+    }
+
+    /**
+     * Comprueba, al terminar una carga por filas, que la matriz sea cuadrada y no vacía.
+     */
+    public static void validarCantidadFilas(int filas, int columnas) {
+        if (filas == 0) {
+            throw new IllegalArgumentException("Error: Matriz sin filas.");
+        }
+        if (filas != columnas) {
+            throw new IllegalArgumentException("Error: La matriz no es cuadrada. Filas="
+                    + filas + ", Columnas=" + columnas);
+        }
+    }
+
     private static void validarValoresPermitidos(int[][] matriz) {
         for (int f = 0; f < matriz.length; f++) {
-            for (int c = 0; c < matriz[f].length; c++) {
-                int valor = matriz[f][c];
-                if (valor < 0) {
-                    throw new IllegalArgumentException(
-                            "Error: Valor negativo encontrado en (" + (f + 1) + "," + (c + 1)
-                                    + "): " + valor);
-                }
-                if (valor > 1) {
-                    throw new IllegalArgumentException(
-                            "Error: Valor inválido en (" + (f + 1) + "," + (c + 1)
-                                    + "). Solo se aceptan 0 y 1 por ahora → encontrado: " + valor);
-                }
+            validarValoresFila(matriz[f], f);
+        }
+    }
+
+    /**
+     * Valida que los valores de una fila sean 0 o 1.
+     *
+     * @param fila Fila a validar.
+     * @param f    Índice de la fila (desde 0).
+     */
+    public static void validarValoresFila(int[] fila, int f) {
+        for (int c = 0; c < fila.length; c++) {
+            int valor = fila[c];
+            if (valor < 0) {
+                throw new IllegalArgumentException(
+                        "Error: Valor negativo encontrado en (" + (f + 1) + "," + (c + 1)
+                                + "): " + valor);
+            }
+            if (valor > 1) {
+                throw new IllegalArgumentException(
+                        "Error: Valor inválido en (" + (f + 1) + "," + (c + 1)
+                                + "). Solo se aceptan 0 y 1 por ahora → encontrado: " + valor);
             }
         }
     }
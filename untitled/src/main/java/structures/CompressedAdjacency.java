@@ -0,0 +1,202 @@
+package structures;
+
+import java.util.Arrays;
+
+/**
+ * Listas de adyacencia comprimidas al estilo WebGraph.
+ * Los vecinos de cada vértice se guardan ordenados y codificados por diferencias (gaps)
+ * con enteros de longitud variable (varint de 7 bits por byte). El primer vecino se
+ * codifica respecto del propio vértice (con signo, en zig-zag) y los siguientes respecto
+ * del vecino anterior, por lo que en grafos con buena localidad casi todos ocupan 1 byte.
+ *
+ * La lectura es secuencial mediante un cursor {@code long} que empaqueta la posición en
+ * el buffer (32 bits altos) y el último vecino decodificado (32 bits bajos), así que
+ * recorrer los vecinos no crea objetos.
+ */
+public final class CompressedAdjacency {
+    private final int nVertices;
+    private final int[] offsets;   // offsets[u]..offsets[u+1] = bytes de los vecinos de u
+    private final int[] degrees;
+    private final byte[] data;
+    private final long edgeCount;
+
+    /**
+     * Comprime una lista de adyacencia en formato CSR. Los vecinos repetidos se guardan una sola vez.
+     * Las filas se codifican directamente desde el arreglo CSR; solo las que no están
+     * ordenadas (por ejemplo, tras agregar aristas) se copian y ordenan, de a una.
+     *
+     * @param csrOffsets Inicio de los vecinos de cada vértice (n + 1 posiciones).
+     * @param csrTargets Vecinos de todos los vértices (no necesitan estar ordenados).
+     */
+    public CompressedAdjacency(int[] csrOffsets, int[] csrTargets) {
+        this.nVertices = csrOffsets.length - 1;
+        this.offsets = new int[nVertices + 1];
+        this.degrees = new int[nVertices];
+
+        // Primera pasada: medir el tamaño codificado de cada fila
+        long totalBytes = 0;
+        long edges = 0;
+        for (int u = 0; u < nVertices; u++) {
+            int from = csrOffsets[u], to = csrOffsets[u + 1];
+            if (isStrictlyIncreasing(csrTargets, from, to)) {
+                degrees[u] = to - from;
+                totalBytes += encodedSize(u, csrTargets, from, to);
+            } else {
+                int[] row = sortedDistinct(csrTargets, from, to);
+                degrees[u] = row.length;
+                totalBytes += encodedSize(u, row, 0, row.length);
+            }
+            edges += degrees[u];
+            if (totalBytes > Integer.MAX_VALUE) {
+                throw new IllegalArgumentException("Error: El grafo es demasiado grande para comprimirse en un solo buffer.");
+            }
+        }
+        this.edgeCount = edges;
+        this.data = new byte[(int) totalBytes];
+
+        // Segunda pasada: escribir los gaps
+        int pos = 0;
+        for (int u = 0; u < nVertices; u++) {
+            offsets[u] = pos;
+            int from = csrOffsets[u], to = csrOffsets[u + 1];
+            if (isStrictlyIncreasing(csrTargets, from, to)) {
+                pos = encode(u, csrTargets, from, to, pos);
+            } else {
+                int[] row = sortedDistinct(csrTargets, from, to);
+                pos = encode(u, row, 0, row.length, pos);
+            }
+        }
+        offsets[nVertices] = pos;
+    }
+
+    /**
+     * Cursor inicial para recorrer los vecinos de u; se avanza con {@link #next(int, long)}.
+     */
+    public long begin(int u) {
+        return (long) offsets[u] << 32;
+    }
+
+    /**
+     * Indica si quedan vecinos de u por leer desde el cursor dado.
+     */
+    public boolean hasNext(int u, long cursor) {
+        return (int) (cursor >>> 32) < offsets[u + 1];
+    }
+
+    /**
+     * Decodifica el siguiente vecino de u. El vecino queda en {@link #value(long)} del cursor devuelto.
+     */
+    public long next(int u, long cursor) {
+        int pos = (int) (cursor >>> 32);
+        boolean first = pos == offsets[u];
+
+        // Lectura del varint
+        int b = data[pos++];
+        int gap = b & 0x7F;
+        for (int shift = 7; b < 0; shift += 7) {
+            b = data[pos++];
+            gap |= (b & 0x7F) << shift;
+        }
+
+        int neighbor = first ? u + unzigzag(gap) : (int) cursor + gap + 1;
+        return ((long) pos << 32) | (neighbor & 0xFFFFFFFFL);
+    }
+
+    /**
+     * Vecino decodificado contenido en el cursor.
+     */
+    public static int value(long cursor) {
+        return (int) cursor;
+    }
+
+    /**
+     * Decodifica todos los vecinos de u en el buffer dado (que debe tener al menos degree(u) posiciones).
+     *
+     * @return Cantidad de vecinos escritos.
+     */
+    public int decode(int u, int[] buffer) {
+        int count = 0;
+        for (long c = begin(u); hasNext(u, c); ) {
+            c = next(u, c);
+            buffer[count++] = value(c);
+        }
+        return count;
+    }
+
+    public int degree(int u) { return degrees[u]; }
+    public int getnVertices() { return nVertices; }
+    public long getEdgeCount() { return edgeCount; }
+
+    /**
+     * Memoria aproximada ocupada por la estructura (buffer + índices).
+     */
+    public long sizeInBytes() {
+        return data.length + 4L * offsets.length + 4L * degrees.length;
+    }
+
+    // --- Codificación ---
+
+    private static int[] sortedDistinct(int[] targets, int from, int to) {
+        int[] values = Arrays.copyOfRange(targets, from, to);
+        Arrays.sort(values);
+        int k = 0;
+        for (int i = 0; i < values.length; i++) {
+            if (k == 0 || values[i] != values[k - 1]) {
+                values[k++] = values[i];
+            }
+        }
+        return k == values.length ? values : Arrays.copyOf(values, k);
+    }
+
+    private static boolean isStrictlyIncreasing(int[] values, int from, int to) {
+        for (int i = from + 1; i < to; i++) {
+            if (values[i] <= values[i - 1]) return false;
+        }
+        return true;
+    }
+
+    private static int gap(int u, int[] neighbors, int from, int i) {
+        return (i == from) ? zigzag(neighbors[from] - u) : neighbors[i] - neighbors[i - 1] - 1;
+    }
+
+    private static long encodedSize(int u, int[] neighbors, int from, int to) {
+        long size = 0;
+        for (int i = from; i < to; i++) {
+            size += varintSize(gap(u, neighbors, from, i));
+        }
+        return size;
+    }
+
+    private int encode(int u, int[] neighbors, int from, int to, int pos) {
+        for (int i = from; i < to; i++) {
+            pos = writeVarint(gap(u, neighbors, from, i), pos);
+        }
+        return pos;
+    }
+
+    private int writeVarint(int value, int pos) {
+        while ((value & ~0x7F) != 0) {
+            data[pos++] = (byte) ((value & 0x7F) | 0x80);
+            value >>>= 7;
+        }
+        data[pos++] = (byte) value;
+        return pos;
+    }
+
+    private static int varintSize(int value) {
+        int size = 1;
+        while ((value & ~0x7F) != 0) {
+            value >>>= 7;
+            size++;
+        }
+        return size;
+    }
+
+    private static int zigzag(int value) {
+        return (value << 1) ^ (value >> 31);
+    }
+
+    private static int unzigzag(int value) {
+        return (value >>> 1) ^ -(value & 1);
+    }
+}
@@ -3,9 +3,13 @@ package structures;
 import utils.Util;
 
 import java.util.*;
+import java.util.function.IntUnaryOperator;
+import java.util.stream.IntStream;
 
 /**
  * Representa un grafo utilizando una lista de adyacencia y una matriz de adyacencia.
+ * La lista de adyacencia se guarda en formato CSR (un arreglo de offsets por vértice y
+ * un arreglo plano de vecinos), construido en paralelo a partir de la matriz.
  * Permite determinar si el grafo es dirigido o no basado en la matriz proporcionada.
  * Además, proporciona métodos para agregar aristas y obtener información sobre el grafo.
  * Los métodos de recorrido (BFS y DFS) ahora manejan grafos desconectados visitando
@@ -16,41 +20,118 @@ import java.util.*;
 public class Graph {
     private final int nVertices;
     private final boolean isDirected;
-    private final List<List<Integer>> adjList;
-    private final int[][] matrix;
+    // Lista de adyacencia CSR: los vecinos de u son targets[offsets[u]..offsets[u+1])
+    private int[] offsets;
+    private int[] targets;
+    // Matriz de entrada (null si el grafo se armó sin ella; ver getMatrix)
+    private int[][] matrix;
+
+    // Vecinos comprimidos (si no es null, reemplaza a offsets/targets)
+    private CompressedAdjacency compressed;
+
+    // Correspondencia con la numeración del archivo (null si no se reordenó)
+    private final int[] originalIds;
+    private final int[] internalIds;
 
     private int[] distances;
     private int[] parents;
 
+    /** Profundidad sin límite para los recorridos con visitante o iterador. */
+    public static final int UNLIMITED_DEPTH = Integer.MAX_VALUE;
+    // Resultado de discover cuando el vértice no se apila
+    private static final int NOT_PUSHED = Integer.MIN_VALUE;
+
     public Graph(int[][] matrix) {
         this.matrix = matrix;
+        this.originalIds = null;
+        this.internalIds = null;
         // Número de vértices basado en el tamaño de la matriz
         this.nVertices = matrix.length;
 
         // Determinación de si el grafo es dirigido utilizando la función utilitaria
         this.isDirected = Util.isDirected(matrix, nVertices);
 
-        // Inicialización de la lista de adyacencia
-        this.adjList = new ArrayList<>(nVertices);
+        // Construcción en dos pasadas paralelas por filas. Cada hilo escribe solo en
+        // su propio tramo de los arreglos, así que no hacen falta locks.
+        // En un grafo no dirigido la matriz es simétrica: la fila i ya contiene las
+        // aristas espejo (j, i), por lo que no hay que reflejarlas a mano.
 
-        // Creación de listas vacías para cada vértice
-        for (int i = 0; i<nVertices; i++) {
-            adjList.add(new ArrayList<>());
-        }
+        // 1. Grado de cada fila
+        int[] degrees = new int[nVertices];
+        IntStream.range(0, nVertices).parallel().forEach(i -> {
+            int[] row = matrix[i];
+            int count = 0;
+            for (int j = 0; j < nVertices; j++) {
+                if (row[j] != 0) count++;
+            }
+            degrees[i] = count;
+        });
 
-        // Población de la lista de adyacencia basada en la matriz
-        for (int i = 0; i < nVertices; i++) {
+        // 2. Suma prefija para ubicar el tramo de cada vértice
+        this.offsets = prefixSum(nVertices, i -> degrees[i]);
+
+        // 3. Llenado de los vecinos (quedan ordenados de forma ascendente)
+        this.targets = new int[offsets[nVertices]];
+        IntStream.range(0, nVertices).parallel().forEach(i -> {
+            int[] row = matrix[i];
+            int pos = offsets[i];
             for (int j = 0; j < nVertices; j++) {
-                // Si hay conexión
-                if (matrix[i][j] != 0) {
-                    // si es dirigido agregamos todo
-                    // si no, solo agregamos si j >= i (triangulo superior)
-                    if (isDirected() || j >= i) {
-                        addEdge(i, j);
-                    }
-                }
+                if (row[j] != 0) targets[pos++] = j;
             }
+        });
+    }
+
+    /**
+     * Construye el grafo a partir de los vecinos de cada fila ya calculados
+     * (por ejemplo, por un cargador que los arma a medida que lee el archivo).
+     *
+     * @param matrix     Matriz de adyacencia.
+     * @param neighbors  neighbors[i] = columnas no nulas de la fila i, en orden ascendente.
+     * @param isDirected Si la matriz no es simétrica.
+     */
+    public static Graph fromRows(int[][] matrix, int[][] neighbors, boolean isDirected) {
+        if (neighbors.length != matrix.length) {
+            throw new IllegalArgumentException("Error: Se esperaban " + matrix.length + " filas de vecinos y hay " + neighbors.length + ".");
         }
+        return new Graph(matrix, neighbors, isDirected, null);
+    }
+
+    /**
+     * @param matrix      Matriz de adyacencia (puede ser null; se reconstruye en getMatrix).
+     * @param originalIds originalIds[v] = id en el archivo del vértice interno v (null = identidad).
+     */
+    private Graph(int[][] matrix, int[][] neighbors, boolean isDirected, int[] originalIds) {
+        this.matrix = matrix;
+        this.originalIds = originalIds;
+        this.internalIds = (originalIds == null) ? null : invert(originalIds);
+        this.nVertices = neighbors.length;
+        this.isDirected = isDirected;
+
+        // Suma prefija de los grados y copia en paralelo de cada tramo
+        this.offsets = prefixSum(nVertices, i -> neighbors[i].length);
+        this.targets = new int[offsets[nVertices]];
+        IntStream.range(0, nVertices).parallel().forEach(i ->
+                System.arraycopy(neighbors[i], 0, targets, offsets[i], neighbors[i].length));
+    }
+
+    /**
+     * Offsets CSR a partir del grado de cada vértice. La suma se lleva en long para
+     * detectar grafos cuyas aristas no caben en un arreglo de Java.
+     *
+     * @throws IllegalArgumentException si el total de aristas supera Integer.MAX_VALUE.
+     */
+    private static int[] prefixSum(int n, IntUnaryOperator degree) {
+        int[] offsets = new int[n + 1];
+        long total = 0;
+        for (int i = 0; i < n; i++) {
+            total += degree.applyAsInt(i);
+            if (total > Integer.MAX_VALUE) {
+                throw new IllegalArgumentException("Error: El grafo tiene más de " + Integer.MAX_VALUE
+                        + " aristas dirigidas y no se puede representar.");
+            }
+            offsets[i + 1] = (int) total;
+        }
+        return offsets;
     }
 
     /**
@@ -62,9 +143,31 @@ public class Graph {
      */
     public void addEdge(int from, int to) {
         if(from<0 || from>=nVertices || to<0 || to>=nVertices) return;
-        adjList.get(from).add(to);
+        if (compressed != null) {
+            throw new IllegalStateException("Error: No se pueden agregar aristas a un grafo comprimido.");
+        }
+        insertNeighbor(from, to);
         if(!isDirected) {
-            adjList.get(to).add(from);
+            insertNeighbor(to, from);
+        }
+    }
+
+    /**
+     * Agrega 'to' al final del tramo de 'from' en el arreglo CSR.
+     * Requiere copiar los arreglos (O(n + m)); pensado para ediciones puntuales.
+     */
+    private void insertNeighbor(int from, int to) {
+        if (targets.length == Integer.MAX_VALUE) {
+            throw new IllegalArgumentException("Error: El grafo ya tiene el máximo de aristas representable.");
+        }
+        int pos = offsets[from + 1];
+        int[] newTargets = new int[targets.length + 1];
+        System.arraycopy(targets, 0, newTargets, 0, pos);
+        newTargets[pos] = to;
+        System.arraycopy(targets, pos, newTargets, pos + 1, targets.length - pos);
+        targets = newTargets;
+        for (int u = from + 1; u <= nVertices; u++) {
+            offsets[u]++;
         }
     }
 
@@ -86,16 +189,19 @@ public class Graph {
         distances = new int[nVertices];
         parents = new int[nVertices];
         boolean[] visited = new boolean[nVertices];
+        int[] neighbors = new int[maxDegree()];
         Arrays.fill(distances, -1);
         Arrays.fill(parents, -1);
 
         // Primer recorrido desde el nodo inicial
-        bfsSingleComponent(startNode, visited, traversalOrder);
+        bfsSingleComponent(startNode, visited, traversalOrder, neighbors);
 
-        // Buscar nodos no visitados y realizar BFS desde ellos
-        for (int i = 0; i < nVertices; i++) {
+        // Buscar nodos no visitados y realizar BFS desde ellos (en orden de id original,
+        // para que el recorrido sea el mismo aunque el grafo esté reordenado)
+        for (int original = 0; original < nVertices; original++) {
+            int i = getInternalId(original);
             if (!visited[i]) {
-                bfsSingleComponent(i, visited, traversalOrder);
+                bfsSingleComponent(i, visited, traversalOrder, neighbors);
             }
         }
 
@@ -108,8 +214,9 @@ public class Graph {
      * @param startNode Nodo desde el cual iniciar
      * @param visited Array de nodos visitados (compartido entre componentes)
      * @param traversalOrder Lista para agregar el orden de visita
+     * @param neighbors Buffer de al menos maxDegree() posiciones
      */
-    private void bfsSingleComponent(int startNode, boolean[] visited, List<Integer> traversalOrder) {
+    private void bfsSingleComponent(int startNode, boolean[] visited, List<Integer> traversalOrder, int[] neighbors) {
         Queue<Integer> queue = new LinkedList<>();
 
         // Configurar nodo inicial
@@ -121,7 +228,9 @@ public class Graph {
             int u = queue.poll();
             traversalOrder.add(u);
 
-            for (int v : adjList.get(u)) {
+            int degree = neighborsInFileOrder(u, neighbors);
+            for (int i = 0; i < degree; i++) {
+                int v = neighbors[i];
                 if (!visited[v]) {
                     visited[v] = true;
                     distances[v] = distances[u] + 1;
@@ -157,8 +266,9 @@ public class Graph {
         // Primer recorrido desde el nodo inicial
         dfsVisit(startNode, visited, traversalOrder, 0);
 
-        // Buscar nodos no visitados y realizar DFS desde ellos
-        for (int i = 0; i < nVertices; i++) {
+        // Buscar nodos no visitados y realizar DFS desde ellos (en orden de id original)
+        for (int original = 0; original < nVertices; original++) {
+            int i = getInternalId(original);
             if (!visited[i]) {
                 dfsVisit(i, visited, traversalOrder, 0);
             }
@@ -180,12 +290,361 @@ public class Graph {
         distances[u] = depth;
         traversalOrder.add(u);
 
-        for (int v : adjList.get(u)) {
-            if (!visited[v]) {
-                parents[v] = u;
-                dfsVisit(v, visited, traversalOrder, depth + 1);
+        if (originalIds == null) {
+            for (long c = firstNeighbor(u); hasNeighbor(u, c); ) {
+                c = nextNeighbor(u, c);
+                int v = neighborAt(c);
+                if (!visited[v]) {
+                    parents[v] = u;
+                    dfsVisit(v, visited, traversalOrder, depth + 1);
+                }
             }
+        } else {
+            // Grafo reordenado: los vecinos se visitan en el orden del archivo
+            int[] neighbors = new int[degree(u)];
+            int degree = neighborsInFileOrder(u, neighbors);
+            for (int i = 0; i < degree; i++) {
+                int v = neighbors[i];
+                if (!visited[v]) {
+                    parents[v] = u;
+                    dfsVisit(v, visited, traversalOrder, depth + 1);
+                }
+            }
+        }
+    }
+
+    /**
+     * Copia los vecinos de u en el orden en que los recorre el grafo sin reordenar
+     * (id original creciente), de modo que bfs y dfs muestran el mismo orden de visita
+     * con cualquier numeración interna. Si el grafo no se reordenó es getNeighbors.
+     *
+     * @return Cantidad de vecinos escritos.
+     */
+    private int neighborsInFileOrder(int u, int[] buffer) {
+        int degree = getNeighbors(u, buffer);
+        if (originalIds != null) {
+            for (int i = 0; i < degree; i++) buffer[i] = originalIds[buffer[i]];
+            Arrays.sort(buffer, 0, degree);
+            for (int i = 0; i < degree; i++) buffer[i] = internalIds[buffer[i]];
         }
+        return degree;
+    }
+
+    /**
+     * Contexto de recorrido para este grafo. Reutilizarlo en recorridos sucesivos evita
+     * reservar y limpiar arreglos de n posiciones en cada uno.
+     */
+    public TraversalContext newTraversalContext() {
+        return new TraversalContext(nVertices);
+    }
+
+    /**
+     * BFS restringido a la componente de 'start' que entrega cada vértice al visitante.
+     * No materializa el orden de visita ni modifica distances/parents. Reserva un
+     * contexto nuevo (O(n)); para muchos recorridos cortos conviene la versión que
+     * recibe un {@link TraversalContext}.
+     *
+     * @param start    Nodo de inicio
+     * @param maxDepth Profundidad máxima a explorar ({@link #UNLIMITED_DEPTH} para no limitar)
+     * @param visitor  Receptor de los vértices; puede detener el recorrido
+     */
+    public void traverseBfs(int start, int maxDepth, GraphVisitor visitor) {
+        traverseBfs(start, maxDepth, visitor, newTraversalContext());
+    }
+
+    /**
+     * Igual que {@link #traverseBfs(int, int, GraphVisitor)} pero con un contexto
+     * reutilizable: no reserva memoria y su costo depende solo de lo que se visita.
+     */
+    public void traverseBfs(int start, int maxDepth, GraphVisitor visitor, TraversalContext context) {
+        checkContext(context);
+        if (start < 0 || start >= nVertices) return;
+
+        context.reset();
+        int[] queue = context.queue;
+        int[] depth = context.depth;
+        int head = 0, tail = 0;
+
+        context.mark(start);
+        depth[start] = 0;
+        queue[tail++] = start;
+        if (!visitor.preVisit(start, -1, 0)) return;
+
+        while (head < tail) {
+            int u = queue[head++];
+            if (depth[u] < maxDepth) {
+                for (long c = firstNeighbor(u); hasNeighbor(u, c); ) {
+                    c = nextNeighbor(u, c);
+                    int v = neighborAt(c);
+                    if (!context.isMarked(v)) {
+                        context.mark(v);
+                        depth[v] = depth[u] + 1;
+                        queue[tail++] = v;
+                        if (!visitor.preVisit(v, u, depth[v])) return;
+                    }
+                }
+            }
+            visitor.postVisit(u, depth[u]);
+        }
+    }
+
+    /**
+     * DFS iterativo restringido a la componente de 'start' que entrega cada vértice al
+     * visitante (preVisit al descubrirlo, postVisit al cerrar su subárbol). Visita los
+     * vértices en el mismo orden que {@link #dfs(int)} pero sin recursión, por lo que
+     * no desborda la pila en grafos profundos.
+     *
+     * Con límite de profundidad se entregan todos los vértices a distancia a lo sumo
+     * maxDepth de 'start': si un vértice ya visitado se alcanza luego por un camino más
+     * corto, se vuelve a expandir (sin entregarlo de nuevo) para no perder los vecinos
+     * que el límite había cortado. La profundidad informada es la del árbol DFS al
+     * descubrirlo. Reserva un contexto nuevo (O(n)).
+     *
+     * @param start    Nodo de inicio
+     * @param maxDepth Profundidad máxima a explorar ({@link #UNLIMITED_DEPTH} para no limitar)
+     * @param visitor  Receptor de los vértices; puede detener el recorrido
+     */
+    public void traverseDfs(int start, int maxDepth, GraphVisitor visitor) {
+        traverseDfs(start, maxDepth, visitor, newTraversalContext());
+    }
+
+    /**
+     * Igual que {@link #traverseDfs(int, int, GraphVisitor)} pero con un contexto reutilizable.
+     */
+    public void traverseDfs(int start, int maxDepth, GraphVisitor visitor, TraversalContext context) {
+        checkContext(context);
+        if (start < 0 || start >= nVertices) return;
+
+        context.reset();
+        // La profundidad de cada entrada es su posición en la pila. Las entradas que
+        // re-expanden un vértice ya entregado se guardan como ~v.
+        int[] stack = context.queue;
+        long[] cursors = context.cursors;
+        int top = 0;
+
+        context.mark(start);
+        context.depth[start] = 0;
+        if (!visitor.preVisit(start, -1, 0)) return;
+        stack[top] = start;
+        cursors[top++] = firstNeighbor(start);
+
+        while (top > 0) {
+            int entry = stack[top - 1];
+            int u = entry < 0 ? ~entry : entry;
+            long c = cursors[top - 1];
+            if (top - 1 < maxDepth && hasNeighbor(u, c)) {
+                c = nextNeighbor(u, c);
+                cursors[top - 1] = c;
+                int v = neighborAt(c);
+                int pushed = discover(v, top, maxDepth, context);
+                if (pushed != NOT_PUSHED) {
+                    if (pushed >= 0 && !visitor.preVisit(v, u, top)) return;
+                    stack[top] = pushed;
+                    cursors[top++] = firstNeighbor(v);
+                }
+            } else {
+                top--;
+                if (entry >= 0) visitor.postVisit(u, top);
+            }
+        }
+    }
+
+    /**
+     * Paso del DFS con límite: decide si v se apila a la profundidad dada.
+     *
+     * @return v si es la primera vez que se alcanza, ~v si hay que re-expandirlo porque
+     *         ahora está más cerca del inicio, o NOT_PUSHED si no hay que apilarlo.
+     */
+    private static int discover(int v, int depth, int maxDepth, TraversalContext context) {
+        if (!context.isMarked(v)) {
+            context.mark(v);
+            context.depth[v] = depth;
+            return v;
+        }
+        // Sin límite el primer descubrimiento ya expande todo lo alcanzable
+        if (maxDepth != UNLIMITED_DEPTH && context.depth[v] > depth && depth < maxDepth) {
+            context.depth[v] = depth;
+            return ~v;
+        }
+        return NOT_PUSHED;
+    }
+
+    private void checkContext(TraversalContext context) {
+        if (context.size() != nVertices) {
+            throw new IllegalArgumentException("Error: El contexto de recorrido es para un grafo de "
+                    + context.size() + " vértices y este tiene " + nVertices + ".");
+        }
+    }
+
+    /**
+     * Iterador perezoso en orden BFS sobre la componente de 'start': cada vértice se
+     * expande recién cuando se pide. Reserva un contexto nuevo (O(n)); con
+     * {@link #bfsIterator(int, int, TraversalContext)} leer solo los primeros k vértices
+     * cuesta en proporción a k y a sus vecinos, no al tamaño del grafo.
+     *
+     * @param start    Nodo de inicio
+     * @param maxDepth Profundidad máxima ({@link #UNLIMITED_DEPTH} para no limitar)
+     */
+    public PrimitiveIterator.OfInt bfsIterator(int start, int maxDepth) {
+        return bfsIterator(start, maxDepth, newTraversalContext());
+    }
+
+    public PrimitiveIterator.OfInt bfsIterator(int start, int maxDepth, TraversalContext context) {
+        checkContext(context);
+        if (start < 0 || start >= nVertices) return IntStream.empty().iterator();
+        return new BfsIterator(start, maxDepth, context);
+    }
+
+    /**
+     * Iterador perezoso en orden DFS (preorden) sobre la componente de 'start', con la
+     * misma semántica de profundidad que {@link #traverseDfs(int, int, GraphVisitor)}.
+     *
+     * @param start    Nodo de inicio
+     * @param maxDepth Profundidad máxima ({@link #UNLIMITED_DEPTH} para no limitar)
+     */
+    public PrimitiveIterator.OfInt dfsIterator(int start, int maxDepth) {
+        return dfsIterator(start, maxDepth, newTraversalContext());
+    }
+
+    public PrimitiveIterator.OfInt dfsIterator(int start, int maxDepth, TraversalContext context) {
+        checkContext(context);
+        if (start < 0 || start >= nVertices) return IntStream.empty().iterator();
+        return new DfsIterator(start, maxDepth, context);
+    }
+
+    private class BfsIterator implements PrimitiveIterator.OfInt {
+        private final int maxDepth;
+        private final TraversalContext context;
+        private int head = 0, tail = 0;
+
+        BfsIterator(int start, int maxDepth, TraversalContext context) {
+            this.maxDepth = maxDepth;
+            this.context = context;
+            context.reset();
+            context.mark(start);
+            context.depth[start] = 0;
+            context.queue[tail++] = start;
+        }
+
+        @Override
+        public boolean hasNext() {
+            return head < tail;
+        }
+
+        @Override
+        public int nextInt() {
+            if (head == tail) throw new NoSuchElementException();
+            int[] depth = context.depth;
+            int u = context.queue[head++];
+            if (depth[u] < maxDepth) {
+                for (long c = firstNeighbor(u); hasNeighbor(u, c); ) {
+                    c = nextNeighbor(u, c);
+                    int v = neighborAt(c);
+                    if (!context.isMarked(v)) {
+                        context.mark(v);
+                        depth[v] = depth[u] + 1;
+                        context.queue[tail++] = v;
+                    }
+                }
+            }
+            return u;
+        }
+    }
+
+    private class DfsIterator implements PrimitiveIterator.OfInt {
+        private final int maxDepth;
+        private final TraversalContext context;
+        private int top = 0;
+        private int pending;   // siguiente vértice a entregar (-1 si hay que buscarlo)
+
+        DfsIterator(int start, int maxDepth, TraversalContext context) {
+            this.maxDepth = maxDepth;
+            this.context = context;
+            context.reset();
+            context.mark(start);
+            context.depth[start] = 0;
+            context.queue[top] = start;
+            context.cursors[top++] = firstNeighbor(start);
+            pending = start;
+        }
+
+        @Override
+        public boolean hasNext() {
+            if (pending == -1) pending = advance();
+            return pending != -1;
+        }
+
+        @Override
+        public int nextInt() {
+            if (!hasNext()) throw new NoSuchElementException();
+            int v = pending;
+            pending = -1;
+            return v;
+        }
+
+        /**
+         * Avanza la pila hasta descubrir el próximo vértice no entregado.
+         */
+        private int advance() {
+            int[] stack = context.queue;
+            long[] cursors = context.cursors;
+            while (top > 0) {
+                int entry = stack[top - 1];
+                int u = entry < 0 ? ~entry : entry;
+                long c = cursors[top - 1];
+                if (top - 1 < maxDepth && hasNeighbor(u, c)) {
+                    c = nextNeighbor(u, c);
+                    cursors[top - 1] = c;
+                    int v = neighborAt(c);
+                    int pushed = discover(v, top, maxDepth, context);
+                    if (pushed != NOT_PUSHED) {
+                        stack[top] = pushed;
+                        cursors[top++] = firstNeighbor(v);
+                        if (pushed >= 0) return v;
+                    }
+                } else {
+                    top--;
+                }
+            }
+            return -1;
+        }
+    }
+
+    /**
+     * BFS desde un único origen que no modifica el estado del grafo (distances/parents),
+     * por lo que varios hilos pueden usarlo a la vez con sus propios arreglos.
+     * Es la base de los algoritmos que ejecutan muchos BFS (centralidad, diámetro).
+     *
+     * @param source     Nodo de origen
+     * @param dist       Arreglo de n posiciones; se llena con las distancias (-1 = inalcanzable)
+     * @param order      Arreglo de n posiciones; order[0..k) queda con el orden de visita
+     * @param pathCounts Arreglo opcional (puede ser null) con la cantidad de caminos mínimos desde source
+     * @return Cantidad k de nodos alcanzados
+     */
+    public int bfsFrom(int source, int[] dist, int[] order, double[] pathCounts) {
+        Arrays.fill(dist, -1);
+        if (pathCounts != null) Arrays.fill(pathCounts, 0);
+
+        dist[source] = 0;
+        if (pathCounts != null) pathCounts[source] = 1;
+        order[0] = source;
+        int head = 0, tail = 1;
+
+        while (head < tail) {
+            int u = order[head++];
+            for (long c = firstNeighbor(u); hasNeighbor(u, c); ) {
+                c = nextNeighbor(u, c);
+                int v = neighborAt(c);
+                if (dist[v] == -1) {
+                    dist[v] = dist[u] + 1;
+                    order[tail++] = v;
+                }
+                if (pathCounts != null && dist[v] == dist[u] + 1) {
+                    pathCounts[v] += pathCounts[u];
+                }
+            }
+        }
+        return tail;
     }
 
     /**
@@ -218,7 +677,9 @@ public class Graph {
      */
     private void dfsComponentCount(int node, boolean[] visited) {
         visited[node] = true;
-        for (int neighbor : adjList.get(node)) {
+        for (long c = firstNeighbor(node); hasNeighbor(node, c); ) {
+            c = nextNeighbor(node, c);
+            int neighbor = neighborAt(c);
             if (!visited[neighbor]) {
                 dfsComponentCount(neighbor, visited);
             }
@@ -235,7 +696,9 @@ public class Graph {
 
         while (!queue.isEmpty()) {
             int u = queue.poll();
-            for (int v : adjList.get(u)) {
+            for (long c = firstNeighbor(u); hasNeighbor(u, c); ) {
+                c = nextNeighbor(u, c);
+                int v = neighborAt(c);
                 if (!visited[v]) {
                     visited[v] = true;
                     queue.add(v);
@@ -244,28 +707,220 @@ public class Graph {
         }
     }
 
+    /**
+     * Devuelve un nuevo grafo con los vértices renumerados según el orden dado.
+     * El vértice interno k del nuevo grafo es el vértice order[k] de este grafo;
+     * la correspondencia con los ids originales del archivo se conserva.
+     * Se arma directamente desde las listas de vecinos renumeradas, sin copiar la
+     * matriz: el nuevo grafo no la retiene y getMatrix la reconstruye si se pide.
+     * bfs y dfs recorren los vecinos y los reinicios por id original, así que su orden
+     * de visita no cambia; los recorridos con visitante, los iteradores y bfsFrom
+     * siguen la numeración interna.
+     *
+     * @param order Permutación de 0..n-1 (order[nuevoId] = idActual).
+     * @return Grafo equivalente con la nueva numeración.
+     */
+    public Graph reorder(int[] order) {
+        if (order == null || order.length != nVertices) {
+            throw new IllegalArgumentException("Error: El orden debe tener exactamente " + nVertices + " vértices.");
+        }
+        int[] newIds = invert(order); // valida que sea una permutación
+
+        int[][] rows = new int[nVertices][];
+        int[] newOriginalIds = new int[nVertices];
+        IntStream.range(0, nVertices).parallel().forEach(i -> {
+            int u = order[i];
+            int[] row = new int[degree(u)];
+            getNeighbors(u, row);
+            for (int j = 0; j < row.length; j++) {
+                row[j] = newIds[row[j]];
+            }
+            Arrays.sort(row);
+            rows[i] = row;
+            newOriginalIds[i] = getOriginalId(u);
+        });
+        return new Graph(null, rows, isDirected, newOriginalIds);
+    }
+
+    /**
+     * Calcula el ancho de banda de la numeración actual: la mayor diferencia
+     * |u - v| entre los extremos de una arista. Mientras menor sea, más cerca
+     * en memoria quedan los vecinos de cada vértice.
+     *
+     * @return Ancho de banda del grafo (0 si no tiene aristas).
+     */
+    public int bandwidth() {
+        int bandwidth = 0;
+        for (int u = 0; u < nVertices; u++) {
+            for (long c = firstNeighbor(u); hasNeighbor(u, c); ) {
+                c = nextNeighbor(u, c);
+                bandwidth = Math.max(bandwidth, Math.abs(u - neighborAt(c)));
+            }
+        }
+        return bandwidth;
+    }
+
+    /**
+     * Reemplaza las listas de adyacencia por su versión comprimida (gaps + varint).
+     * Los recorridos decodifican los vecinos secuencialmente sobre la marcha.
+     * Después de comprimir no se pueden agregar aristas. El grafo deja de retener la
+     * matriz de entrada; getMatrix la reconstruye desde las listas comprimidas si se pide.
+     */
+    public void compress() {
+        if (compressed != null) return;
+        compressed = new CompressedAdjacency(offsets, targets);
+        offsets = null;
+        targets = null;
+        matrix = null;
+    }
+
+    /**
+     * Memoria aproximada que retiene el grafo para su adyacencia: la matriz (si la
+     * conserva) más el arreglo CSR o las listas comprimidas.
+     */
+    public long sizeInBytes() {
+        long size = 0;
+        if (matrix != null) {
+            for (int[] row : matrix) size += 16 + 4L * row.length; // encabezado aproximado de cada fila
+        }
+        if (compressed != null) {
+            size += compressed.sizeInBytes();
+        } else {
+            size += 4L * offsets.length + 4L * targets.length;
+        }
+        return size;
+    }
+
+    public boolean isCompressed() { return compressed != null; }
+    public CompressedAdjacency getCompressed() { return compressed; }
+
+    /**
+     * Mayor grado de salida del grafo (útil para dimensionar buffers de getNeighbors).
+     */
+    public int maxDegree() {
+        int max = 0;
+        for (int u = 0; u < nVertices; u++) {
+            max = Math.max(max, degree(u));
+        }
+        return max;
+    }
+
+    /**
+     * Grado de salida del vértice u.
+     */
+    public int degree(int u) {
+        return compressed != null ? compressed.degree(u) : offsets[u + 1] - offsets[u];
+    }
+
+    /**
+     * Copia los vecinos de u en el buffer dado (debe tener al menos degree(u) posiciones).
+     *
+     * @return Cantidad de vecinos escritos.
+     */
+    public int getNeighbors(int u, int[] buffer) {
+        if (compressed != null) return compressed.decode(u, buffer);
+        int degree = offsets[u + 1] - offsets[u];
+        System.arraycopy(targets, offsets[u], buffer, 0, degree);
+        return degree;
+    }
+
+    // --- Recorrido de vecinos sin asignaciones ---
+    // El cursor guarda la posición (32 bits altos) y el último vecino leído (32 bits bajos),
+    // tanto para el arreglo CSR como para las listas comprimidas.
+
+    private long firstNeighbor(int u) {
+        return compressed != null ? compressed.begin(u) : (long) offsets[u] << 32;
+    }
+
+    private boolean hasNeighbor(int u, long cursor) {
+        if (compressed != null) return compressed.hasNext(u, cursor);
+        return (int) (cursor >>> 32) < offsets[u + 1];
+    }
+
+    private long nextNeighbor(int u, long cursor) {
+        if (compressed != null) return compressed.next(u, cursor);
+        int index = (int) (cursor >>> 32);
+        return ((long) (index + 1) << 32) | (targets[index] & 0xFFFFFFFFL);
+    }
+
+    private static int neighborAt(long cursor) {
+        return (int) cursor;
+    }
+
+    /**
+     * Calcula la permutación inversa, validando que la entrada sea una permutación de 0..n-1.
+     */
+    private static int[] invert(int[] permutation) {
+        int[] inverse = new int[permutation.length];
+        Arrays.fill(inverse, -1);
+        for (int i = 0; i < permutation.length; i++) {
+            int p = permutation[i];
+            if (p < 0 || p >= permutation.length || inverse[p] != -1) {
+                throw new IllegalArgumentException("Error: El orden de vértices no es una permutación válida (valor " + p + ").");
+            }
+            inverse[p] = i;
+        }
+        return inverse;
+    }
+
+    /** Id del vértice en el archivo original a partir del id interno. */
+    public int getOriginalId(int vertex) { return originalIds == null ? vertex : originalIds[vertex]; }
+    /** Id interno a partir del id del vértice en el archivo original. */
+    public int getInternalId(int originalVertex) { return internalIds == null ? originalVertex : internalIds[originalVertex]; }
+    public boolean isReordered() { return originalIds != null; }
+
     public int getnVertices() { return nVertices; }
     public int[] getDistances() { return distances; }
     public int[] getParents() { return parents; }
     public boolean isDirected() { return isDirected; }
-    public List<List<Integer>> getAdjList() { return adjList; }
-    public int[][] getMatrix() { return matrix; }
+    /**
+     * Lista de adyacencia con enteros "boxed". Se arma en una lista nueva en cada
+     * llamada a partir del arreglo CSR (o de las listas comprimidas), por lo que en
+     * código sensible al rendimiento conviene usar degree/getNeighbors.
+     */
+    public List<List<Integer>> getAdjList() {
+        List<List<Integer>> adjList = new ArrayList<>(nVertices);
+        for (int u = 0; u < nVertices; u++) {
+            List<Integer> neighbors = new ArrayList<>(degree(u));
+            for (long c = firstNeighbor(u); hasNeighbor(u, c); ) {
+                c = nextNeighbor(u, c);
+                neighbors.add(neighborAt(c));
+            }
+            adjList.add(neighbors);
+        }
+        return adjList;
+    }
+    /**
+     * Matriz de adyacencia en la numeración interna. Si el grafo no la retiene (por
+     * ejemplo, uno reordenado) se arma una nueva de n×n en cada llamada a partir de
+     * las listas de vecinos.
+     */
+    public int[][] getMatrix() {
+        if (matrix != null) return matrix;
+        int[][] dense = new int[nVertices][nVertices];
+        IntStream.range(0, nVertices).parallel().forEach(u -> {
+            for (long c = firstNeighbor(u); hasNeighbor(u, c); ) {
+                c = nextNeighbor(u, c);
+                dense[u][neighborAt(c)] = 1;
+            }
+        });
+        return dense;
+    }
 
     @Override
     public String toString() {
         StringBuilder sb = new StringBuilder();
         sb.append("Graph (").append(isDirected ? "Directed" : "Undirected").append(") with ").append(nVertices).append(" vertices:\n");
-        for (int i = 0; i < nVertices; i++) {
-            sb.append(i).append(": ");
-            for (Integer neighbor : adjList.get(i)) {
-                sb.append(neighbor).append("->");
+        // Se imprime con los ids del archivo original, aunque el grafo esté reordenado
+        for (int original = 0; original < nVertices; original++) {
+            int i = getInternalId(original);
+            sb.append(original).append(": ");
+            for (long c = firstNeighbor(i); hasNeighbor(i, c); ) {
+                c = nextNeighbor(i, c);
+                sb.append(getOriginalId(neighborAt(c))).append("->");
             }
             sb.append("\n");
         }
         return sb.toString();
     }
-<<<<<<< HEAD
-}
-=======
 }
->>>>>>> 23bceec768f6904483538f5f4c940dd89485c463
@@ -0,0 +1,27 @@
+package structures;
+
+/**
+ * Recibe los vértices durante un recorrido de {@link Graph#traverseBfs} o {@link Graph#traverseDfs}.
+ * Los vértices llegan como enteros primitivos, sin listas intermedias, y el recorrido
+ * se puede cortar en cualquier momento devolviendo false desde preVisit.
+ */
+@FunctionalInterface
+public interface GraphVisitor {
+
+    /**
+     * Se invoca al descubrir un vértice.
+     *
+     * @param vertex Vértice visitado
+     * @param parent Vértice desde el que se llegó (-1 para el inicial)
+     * @param depth  Distancia en el árbol de recorrido desde el inicial
+     * @return true para continuar, false para detener todo el recorrido
+     */
+    boolean preVisit(int vertex, int parent, int depth);
+
+    /**
+     * Se invoca al terminar con un vértice: en DFS cuando se cerraron todos sus
+     * descendientes, en BFS cuando se encolaron sus vecinos.
+     */
+    default void postVisit(int vertex, int depth) {
+    }
+}
@@ -0,0 +1,525 @@
+package structures;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ForkJoinPool;
+import java.util.stream.IntStream;
+
+/**
+ * Índice precalculado para responder "¿u alcanza a v?" sin recorrer el grafo.
+ *
+ * Construcción:
+ *   1. Componentes fuertemente conexas (Tarjan iterativo): dentro de una misma
+ *      componente todos se alcanzan entre sí. Las componentes se numeran en orden
+ *      topológico, así que una componente nunca alcanza a otra de id menor.
+ *   2. Grafo de componentes (DAG), armado en paralelo por componente.
+ *   3. Etiquetas de alcance en 2 saltos (Pruned Landmark Labeling): cada componente
+ *      guarda qué "hitos" alcanza (Lout) y qué hitos la alcanzan (Lin). u alcanza a v
+ *      si y solo si Lout(u) y Lin(v) comparten un hito. Los hitos se procesan por
+ *      importancia y cada búsqueda se poda donde la consulta ya se puede responder,
+ *      lo que mantiene las etiquetas cortas. Las búsquedas hacia adelante y hacia atrás
+ *      de cada hito tocan conjuntos disjuntos (el grafo es acíclico) y corren en paralelo.
+ *
+ * Una consulta es una intersección de dos listas ordenadas y cortas. Los vértices se
+ * identifican con los ids del archivo original ({@link Graph#getOriginalId}), así que el
+ * índice responde igual si el grafo se reordenó o se comprimió.
+ * El índice se puede guardar y cargar de disco para no reconstruirlo en cada ejecución;
+ * el archivo guarda una huella del grafo (vértices, aristas y hash de la adyacencia)
+ * y al cargarlo se verifica que corresponda al grafo dado.
+ */
+public final class ReachabilityIndex {
+
+    private static final int MAGIC = 0x52494458; // "RIDX"
+    private static final int VERSION = 2;
+    // Componentes visitadas por el hito anterior a partir de las cuales conviene
+    // correr sus dos búsquedas podadas en hilos distintos
+    private static final int PARALLEL_SEARCH_THRESHOLD = 4096;
+
+    private final int[] component;   // componente (en orden topológico) de cada vértice, por id original
+    private final int[][] labelOut;  // hitos alcanzables desde cada componente, ordenados
+    private final int[][] labelIn;   // hitos que alcanzan a cada componente, ordenados
+    private final Fingerprint fingerprint;
+
+    private ReachabilityIndex(int[] component, int[][] labelOut, int[][] labelIn, Fingerprint fingerprint) {
+        this.component = component;
+        this.labelOut = labelOut;
+        this.labelIn = labelIn;
+        this.fingerprint = fingerprint;
+    }
+
+    /**
+     * Indica si existe un camino dirigido de 'from' a 'to' (todo vértice se alcanza a sí mismo).
+     *
+     * @param from Id original (del archivo) del vértice de origen
+     * @param to   Id original (del archivo) del vértice de destino
+     */
+    public boolean canReach(int from, int to) {
+        if (from < 0 || from >= component.length || to < 0 || to >= component.length) {
+            throw new IllegalArgumentException("Error: Vértice fuera de rango: " + from + " -> " + to);
+        }
+        int cu = component[from];
+        int cv = component[to];
+        if (cu == cv) return true;
+        if (cu > cv) return false; // orden topológico
+        return intersects(labelOut[cu], labelIn[cv]);
+    }
+
+    public int getnVertices() { return component.length; }
+    public int getComponentCount() { return labelOut.length; }
+
+    /**
+     * Cantidad total de entradas en las etiquetas (tamaño del índice sin la tabla de componentes).
+     */
+    public long getLabelEntries() {
+        long total = 0;
+        for (int c = 0; c < labelOut.length; c++) {
+            total += labelOut[c].length + labelIn[c].length;
+        }
+        return total;
+    }
+
+    // --- Construcción ---
+
+    /**
+     * Indica si el índice se construyó para un grafo con la misma huella que el dado.
+     */
+    public boolean matches(Graph graph) {
+        return fingerprint.equals(Fingerprint.of(graph));
+    }
+
+    /**
+     * Construye el índice para el grafo dado (dirigido o no).
+     */
+    public static ReachabilityIndex build(Graph graph) {
+        int n = graph.getnVertices();
+
+        // Copia plana de la adyacencia para recorrerla varias veces sin decodificar
+        int[] offsets = new int[n + 1];
+        for (int u = 0; u < n; u++) offsets[u + 1] = offsets[u] + graph.degree(u);
+        int[] targets = new int[offsets[n]];
+        int[] buffer = new int[graph.maxDegree()];
+        for (int u = 0; u < n; u++) {
+            int d = graph.getNeighbors(u, buffer);
+            System.arraycopy(buffer, 0, targets, offsets[u], d);
+        }
+
+        int[] component = new int[n];
+        int nComponents = stronglyConnectedComponents(n, offsets, targets, component);
+        int[][] successors = condense(n, offsets, targets, component, nComponents);
+        int[][] predecessors = transpose(successors);
+
+        // Las consultas usan ids originales: se reindexa la tabla de componentes
+        int[] byOriginal = new int[n];
+        for (int original = 0; original < n; original++) {
+            byOriginal[original] = component[graph.getInternalId(original)];
+        }
+
+        int[][][] labels = pruneLandmarkLabels(successors, predecessors);
+        return new ReachabilityIndex(byOriginal, labels[0], labels[1], Fingerprint.of(graph));
+    }
+
+    /**
+     * Tarjan iterativo. Las componentes se cierran de "sumidero" a "fuente", así que al
+     * final se invierte la numeración para que quede en orden topológico.
+     *
+     * @return Cantidad de componentes
+     */
+    private static int stronglyConnectedComponents(int n, int[] offsets, int[] targets, int[] component) {
+        int[] index = new int[n];
+        int[] low = new int[n];
+        boolean[] onStack = new boolean[n];
+        int[] sccStack = new int[n];
+        int[] callStack = new int[n];
+        int[] edgePos = new int[n];
+        Arrays.fill(index, -1);
+
+        int counter = 0, sp = 0, nComponents = 0;
+        for (int s = 0; s < n; s++) {
+            if (index[s] != -1) continue;
+
+            int csp = 0;
+            index[s] = low[s] = counter++;
+            sccStack[sp++] = s;
+            onStack[s] = true;
+            callStack[csp] = s;
+            edgePos[csp++] = offsets[s];
+
+            while (csp > 0) {
+                int u = callStack[csp - 1];
+                if (edgePos[csp - 1] < offsets[u + 1]) {
+                    int v = targets[edgePos[csp - 1]++];
+                    if (index[v] == -1) {
+                        index[v] = low[v] = counter++;
+                        sccStack[sp++] = v;
+                        onStack[v] = true;
+                        callStack[csp] = v;
+                        edgePos[csp++] = offsets[v];
+                    } else if (onStack[v]) {
+                        low[u] = Math.min(low[u], index[v]);
+                    }
+                } else {
+                    csp--;
+                    if (low[u] == index[u]) {
+                        int w;
+                        do {
+                            w = sccStack[--sp];
+                            onStack[w] = false;
+                            component[w] = nComponents;
+                        } while (w != u);
+                        nComponents++;
+                    }
+                    if (csp > 0) {
+                        int parent = callStack[csp - 1];
+                        low[parent] = Math.min(low[parent], low[u]);
+                    }
+                }
+            }
+        }
+
+        for (int v = 0; v < n; v++) {
+            component[v] = nComponents - 1 - component[v];
+        }
+        return nComponents;
+    }
+
+    /**
+     * Sucesores (sin repetir) de cada componente en el DAG, calculados en paralelo: las
+     * componentes se reparten en un bloque contiguo por procesador y cada bloque usa su
+     * propio arreglo de marcas, que se libera al terminar.
+     */
+    private static int[][] condense(int n, int[] offsets, int[] targets, int[] component, int nComponents) {
+        // Vértices agrupados por componente
+        int[] start = new int[nComponents + 1];
+        for (int v = 0; v < n; v++) start[component[v] + 1]++;
+        for (int c = 0; c < nComponents; c++) start[c + 1] += start[c];
+        int[] members = new int[n];
+        int[] fill = Arrays.copyOf(start, nComponents);
+        for (int v = 0; v < n; v++) members[fill[component[v]]++] = v;
+
+        int[][] successors = new int[nComponents][];
+        int blocks = Math.max(1, Math.min(nComponents, Runtime.getRuntime().availableProcessors()));
+        IntStream.range(0, blocks).parallel().forEach(b -> {
+            int first = (int) ((long) nComponents * b / blocks);
+            int last = (int) ((long) nComponents * (b + 1) / blocks);
+            int[] mark = new int[nComponents];
+            Arrays.fill(mark, -1);
+            int[] found = new int[4];
+            for (int c = first; c < last; c++) {
+                int k = 0;
+                for (int i = start[c]; i < start[c + 1]; i++) {
+                    int u = members[i];
+                    for (int e = offsets[u]; e < offsets[u + 1]; e++) {
+                        int d = component[targets[e]];
+                        if (d != c && mark[d] != c) {
+                            mark[d] = c;
+                            if (k == found.length) found = Arrays.copyOf(found, k * 2);
+                            found[k++] = d;
+                        }
+                    }
+                }
+                successors[c] = Arrays.copyOf(found, k);
+            }
+        });
+        return successors;
+    }
+
+    private static int[][] transpose(int[][] successors) {
+        int nComponents = successors.length;
+        int[] count = new int[nComponents];
+        for (int[] list : successors) {
+            for (int d : list) count[d]++;
+        }
+        int[][] predecessors = new int[nComponents][];
+        for (int c = 0; c < nComponents; c++) predecessors[c] = new int[count[c]];
+        Arrays.fill(count, 0);
+        for (int c = 0; c < nComponents; c++) {
+            for (int d : successors[c]) predecessors[d][count[d]++] = c;
+        }
+        return predecessors;
+    }
+
+    /**
+     * Pruned Landmark Labeling para alcanzabilidad sobre el DAG de componentes.
+     *
+     * @return {labelOut, labelIn}
+     */
+    private static int[][][] pruneLandmarkLabels(int[][] successors, int[][] predecessors) {
+        int nComponents = successors.length;
+
+        // Importancia: (grado de salida + 1) · (grado de entrada + 1), de mayor a menor
+        long[] keys = new long[nComponents];
+        for (int c = 0; c < nComponents; c++) {
+            long importance = Math.min(Integer.MAX_VALUE,
+                    (long) (successors[c].length + 1) * (predecessors[c].length + 1));
+            keys[c] = ((Integer.MAX_VALUE - importance) << 32) | c;
+        }
+        Arrays.sort(keys);
+
+        Labels out = new Labels(nComponents);
+        Labels in = new Labels(nComponents);
+        int[] seenForward = new int[nComponents];
+        int[] seenBackward = new int[nComponents];
+        int[] queueForward = new int[nComponents];
+        int[] queueBackward = new int[nComponents];
+        Arrays.fill(seenForward, -1);
+        Arrays.fill(seenBackward, -1);
+
+        // Pasarle una búsqueda a otro hilo cuesta más que la mayoría de las búsquedas podadas,
+        // que tocan pocas componentes; solo se hace mientras los hitos anteriores (los más
+        // importantes) siguen recorriendo mucho. Con un solo hilo en el pool común, runAsync
+        // crearía un Thread por tarea, así que ahí nunca se paraleliza.
+        boolean canFork = ForkJoinPool.getCommonPoolParallelism() > 1;
+        int lastVisited = Integer.MAX_VALUE;
+
+        for (int rank = 0; rank < nComponents; rank++) {
+            int landmark = (int) keys[rank];
+            final int r = rank;
+            in.add(landmark, r);
+            out.add(landmark, r);
+
+            boolean forward = successors[landmark].length > 0;
+            boolean backward = predecessors[landmark].length > 0;
+            int visited = 0;
+            if (forward && backward && canFork && lastVisited >= PARALLEL_SEARCH_THRESHOLD) {
+                // Conjuntos disjuntos: cada búsqueda escribe solo en su lado de las etiquetas
+                CompletableFuture<Integer> back = CompletableFuture.supplyAsync(() ->
+                        prunedSearch(landmark, r, predecessors, out, in, seenBackward, queueBackward, false));
+                visited += prunedSearch(landmark, r, successors, in, out, seenForward, queueForward, true);
+                visited += back.join();
+            } else {
+                if (forward) {
+                    visited += prunedSearch(landmark, r, successors, in, out, seenForward, queueForward, true);
+                }
+                if (backward) {
+                    visited += prunedSearch(landmark, r, predecessors, out, in, seenBackward, queueBackward, false);
+                }
+            }
+            lastVisited = visited;
+        }
+        return new int[][][]{out.toArrays(), in.toArrays()};
+    }
+
+    /**
+     * BFS podado desde el hito. Hacia adelante: w recibe el hito en Lin(w) salvo que
+     * Lout(hito) y Lin(w) ya se intersecten. Hacia atrás es simétrico con Lout(w).
+     *
+     * @param target Etiquetas que se amplían (Lin hacia adelante, Lout hacia atrás)
+     * @param source Etiquetas del hito con las que se consulta
+     * @return Cantidad de componentes visitadas (incluido el hito)
+     */
+    private static int prunedSearch(int landmark, int rank, int[][] adjacency, Labels target, Labels source,
+                                     int[] seen, int[] queue, boolean forward) {
+        int head = 0, tail = 0;
+        seen[landmark] = rank;
+        queue[tail++] = landmark;
+        while (head < tail) {
+            int u = queue[head++];
+            for (int w : adjacency[u]) {
+                if (seen[w] == rank) continue;
+                seen[w] = rank;
+                boolean covered = forward
+                        ? intersects(source.get(landmark), source.size(landmark), target.get(w), target.size(w))
+                        : intersects(target.get(w), target.size(w), source.get(landmark), source.size(landmark));
+                if (covered) continue;
+                target.add(w, rank);
+                queue[tail++] = w;
+            }
+        }
+        return tail;
+    }
+
+    private static boolean intersects(int[] a, int[] b) {
+        return intersects(a, a.length, b, b.length);
+    }
+
+    private static boolean intersects(int[] a, int sizeA, int[] b, int sizeB) {
+        int i = 0, j = 0;
+        while (i < sizeA && j < sizeB) {
+            if (a[i] < b[j]) i++;
+            else if (a[i] > b[j]) j++;
+            else return true;
+        }
+        return false;
+    }
+
+    /**
+     * Listas de hitos por componente que crecen durante la construcción. Los hitos se
+     * agregan en orden de rango creciente, por lo que cada lista queda ordenada.
+     */
+    private static final class Labels {
+        private final int[][] data;
+        private final int[] size;
+
+        Labels(int nComponents) {
+            data = new int[nComponents][];
+            size = new int[nComponents];
+        }
+
+        void add(int c, int rank) {
+            if (data[c] == null) {
+                data[c] = new int[2];
+            } else if (size[c] == data[c].length) {
+                data[c] = Arrays.copyOf(data[c], size[c] * 2);
+            }
+            data[c][size[c]++] = rank;
+        }
+
+        int[] get(int c) { return data[c]; }
+        int size(int c) { return size[c]; }
+
+        int[][] toArrays() {
+            int[][] result = new int[data.length][];
+            for (int c = 0; c < data.length; c++) {
+                result[c] = Arrays.copyOf(data[c], size[c]);
+            }
+            return result;
+        }
+    }
+
+    // --- Persistencia ---
+
+    /**
+     * Guarda el índice en un archivo binario, junto con la huella del grafo.
+     */
+    public void save(Path file) throws IOException {
+        try (DataOutputStream out = new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(file)))) {
+            out.writeInt(MAGIC);
+            out.writeInt(VERSION);
+            out.writeInt(component.length);
+            out.writeLong(fingerprint.edges);
+            out.writeLong(fingerprint.hash);
+            out.writeInt(labelOut.length);
+            for (int c : component) out.writeInt(c);
+            for (int c = 0; c < labelOut.length; c++) {
+                writeLabel(out, labelOut[c]);
+                writeLabel(out, labelIn[c]);
+            }
+        }
+    }
+
+    /**
+     * Carga un índice guardado con {@link #save(Path)} y verifica que se haya construido
+     * para el grafo dado (mismos vértices, aristas y hash de la adyacencia).
+     *
+     * @throws IOException si el archivo no es un índice válido o corresponde a otro grafo.
+     */
+    public static ReachabilityIndex load(Path file, Graph graph) throws IOException {
+        try (DataInputStream in = new DataInputStream(new BufferedInputStream(Files.newInputStream(file)))) {
+            if (in.readInt() != MAGIC) {
+                throw new IOException("Error: El archivo no contiene un índice de alcanzabilidad: " + file);
+            }
+            int version = in.readInt();
+            if (version != VERSION) {
+                throw new IOException("Error: Versión de índice no soportada: " + version);
+            }
+            int n = in.readInt();
+            Fingerprint saved = new Fingerprint(n, in.readLong(), in.readLong());
+            if (!saved.equals(Fingerprint.of(graph))) {
+                throw new IOException("Error: El índice " + file + " fue construido para otro grafo.");
+            }
+            int nComponents = in.readInt();
+            if (nComponents < 0 || nComponents > n || (n > 0 && nComponents == 0)) {
+                throw new IOException("Error: Índice corrupto (" + nComponents + " componentes para " + n + " vértices).");
+            }
+            int[] component = new int[n];
+            for (int v = 0; v < n; v++) {
+                component[v] = in.readInt();
+                if (component[v] < 0 || component[v] >= nComponents) {
+                    throw new IOException("Error: Índice corrupto (componente inválida en el vértice " + v + ").");
+                }
+            }
+            int[][] labelOut = new int[nComponents][];
+            int[][] labelIn = new int[nComponents][];
+            for (int c = 0; c < nComponents; c++) {
+                labelOut[c] = readLabel(in, nComponents);
+                labelIn[c] = readLabel(in, nComponents);
+            }
+            return new ReachabilityIndex(component, labelOut, labelIn, saved);
+        }
+    }
+
+    private static void writeLabel(DataOutputStream out, int[] label) throws IOException {
+        out.writeInt(label.length);
+        for (int rank : label) out.writeInt(rank);
+    }
+
+    /**
+     * Lee una etiqueta verificando que sus rangos estén en [0, nComponents) y en orden
+     * estrictamente creciente, como requiere la intersección de las consultas.
+     */
+    private static int[] readLabel(DataInputStream in, int nComponents) throws IOException {
+        int size = in.readInt();
+        if (size < 0 || size > nComponents) {
+            throw new IOException("Error: Índice corrupto (etiqueta de tamaño " + size + ").");
+        }
+        int[] label = new int[size];
+        for (int i = 0; i < size; i++) {
+            label[i] = in.readInt();
+            if (label[i] < 0 || label[i] >= nComponents || (i > 0 && label[i] <= label[i - 1])) {
+                throw new IOException("Error: Índice corrupto (rango " + label[i] + " inválido o fuera de orden).");
+            }
+        }
+        return label;
+    }
+
+    /**
+     * Huella del grafo: cantidad de vértices y de aristas, y un hash de las aristas
+     * expresadas con ids originales. El hash es una suma, así que no depende del orden
+     * de los vecinos ni de la numeración interna.
+     */
+    private static final class Fingerprint {
+        final int vertices;
+        final long edges;
+        final long hash;
+
+        Fingerprint(int vertices, long edges, long hash) {
+            this.vertices = vertices;
+            this.edges = edges;
+            this.hash = hash;
+        }
+
+        static Fingerprint of(Graph graph) {
+            int n = graph.getnVertices();
+            int[] buffer = new int[graph.maxDegree()];
+            long edges = 0;
+            long hash = 0;
+            for (int u = 0; u < n; u++) {
+                int d = graph.getNeighbors(u, buffer);
+                long from = graph.getOriginalId(u);
+                for (int i = 0; i < d; i++) {
+                    hash += mix((from << 32) | graph.getOriginalId(buffer[i]));
+                }
+                edges += d;
+            }
+            return new Fingerprint(n, edges, hash);
+        }
+
+        /**
+         * Mezcla de bits de SplitMix64, para que aristas parecidas den hashes muy distintos.
+         */
+        private static long mix(long z) {
+            z = (z ^ (z >>> 30)) * 0xBF58476D1CE4E5B9L;
+            z = (z ^ (z >>> 27)) * 0x94D049BB133111EBL;
+            return z ^ (z >>> 31);
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (!(o instanceof Fingerprint)) return false;
+            Fingerprint f = (Fingerprint) o;
+            return vertices == f.vertices && edges == f.edges && hash == f.hash;
+        }
+
+        @Override
+        public int hashCode() {
+            return Long.hashCode(hash);
+        }
+    }
+}
@@ -0,0 +1,51 @@
+package structures;
+
+import java.util.Arrays;
+
+/**
+ * Arreglos de trabajo reutilizables para los recorridos con visitante o iterador de un
+ * {@link Graph} (se obtiene con {@link Graph#newTraversalContext()}).
+ *
+ * Las marcas de visitado guardan un número de época: empezar un recorrido nuevo solo
+ * incrementa la época en lugar de limpiar los arreglos, así que se reservan una vez y
+ * cada recorrido cuesta en proporción a lo que visita, no a la cantidad de vértices.
+ * Un contexto no es seguro para hilos, y empezar otro recorrido con él invalida el
+ * iterador que lo estuviera usando.
+ */
+public final class TraversalContext {
+    private final int[] marks;
+    final int[] depth;
+    final int[] queue;      // cola del BFS o pila del DFS
+    final long[] cursors;   // cursor de vecinos de cada nivel de la pila del DFS
+    private int epoch;
+
+    TraversalContext(int nVertices) {
+        marks = new int[nVertices];
+        depth = new int[nVertices];
+        queue = new int[nVertices];
+        cursors = new long[nVertices];
+    }
+
+    int size() {
+        return marks.length;
+    }
+
+    /**
+     * Empieza un recorrido nuevo: ningún vértice queda marcado.
+     */
+    void reset() {
+        if (++epoch == 0) {
+            // Se dio la vuelta: las marcas viejas podrían coincidir con las épocas nuevas
+            Arrays.fill(marks, 0);
+            epoch = 1;
+        }
+    }
+
+    boolean isMarked(int v) {
+        return marks[v] == epoch;
+    }
+
+    void mark(int v) {
+        marks[v] = epoch;
+    }
+}
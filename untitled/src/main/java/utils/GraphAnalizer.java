@@ -24,8 +24,10 @@ public class GraphAnalizer {
         System.out.println("\n   +---------+-------------+");
         System.out.println("   | Vértice |  Distancia  |");
         System.out.println("   +---------+-------------+");
+        // Filas en la numeración original del archivo (el grafo puede estar reordenado)
         for (int i = 0; i < n; i++) {
-            String dStr = (distances[i] == -1) ? "INF" : String.valueOf(distances[i]);
+            int d = distances[graph.getInternalId(i)];
+            String dStr = (d == -1) ? "INF" : String.valueOf(d);
             System.out.printf("   |    %2d   |     %3s     |\n", i, dStr);
         }
         System.out.println("   +---------+-------------+");
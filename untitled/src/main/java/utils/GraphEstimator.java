@@ -0,0 +1,285 @@
+package utils;
+
+import structures.Graph;
+
+import java.util.Random;
+import java.util.function.ObjIntConsumer;
+import java.util.function.Supplier;
+import java.util.stream.IntStream;
+
+/**
+ * Estimaciones aproximadas para grafos grandes, construidas sobre {@link Graph#bfsFrom}.
+ * Calcular centralidades o el diámetro exactos requiere un BFS por vértice (O(n·m));
+ * aquí se ejecuta un BFS por origen muestreado, repartiendo los orígenes entre hilos.
+ *
+ * El tamaño de la muestra se deriva de la cota de Hoeffding: con probabilidad 1 - delta,
+ * el error absoluto de cada valor normalizado es a lo sumo epsilon.
+ */
+public class GraphEstimator {
+
+    /**
+     * Resultado de la estimación del diámetro: el valor real está en [cotaInferior, cotaSuperior].
+     */
+    public static class EstimacionDiametro {
+        public final int cotaInferior;
+        public final int cotaSuperior;
+        public final int bfsEjecutados;
+
+        EstimacionDiametro(int cotaInferior, int cotaSuperior, int bfsEjecutados) {
+            this.cotaInferior = cotaInferior;
+            this.cotaSuperior = cotaSuperior;
+            this.bfsEjecutados = bfsEjecutados;
+        }
+
+        public boolean esExacto() {
+            return cotaInferior == cotaSuperior;
+        }
+    }
+
+    /**
+     * Cantidad de orígenes a muestrear para un error epsilon con confianza 1 - delta
+     * sobre los n vértices a la vez: k = ln(2n / delta) / (2 epsilon²), sin superar n.
+     */
+    public static int tamanoMuestra(int n, double epsilon, double delta) {
+        if (epsilon <= 0 || epsilon >= 1 || delta <= 0 || delta >= 1) {
+            throw new IllegalArgumentException("Error: epsilon y delta deben estar en el intervalo (0, 1).");
+        }
+        double k = Math.ceil(Math.log(2.0 * n / delta) / (2 * epsilon * epsilon));
+        return (int) Math.min(n, k);
+    }
+
+    /**
+     * Centralidad de intermediación (betweenness) aproximada con el algoritmo de Brandes
+     * sobre una muestra de orígenes. El valor de v estima la fracción promedio de caminos
+     * mínimos que pasan por v: BC(v) / (n·(n-2)), en [0, 1].
+     * Si la muestra alcanza n se usan todos los orígenes y el resultado es exacto.
+     */
+    public static double[] intermediacionAproximada(Graph graph, double epsilon, double delta, long semilla) {
+        int n = graph.getnVertices();
+        double[] resultado = new double[n];
+        if (n < 3) return resultado;
+
+        int[] origenes = muestrearOrigenes(n, tamanoMuestra(n, epsilon, delta), semilla);
+        int maxDegree = graph.maxDegree();
+
+        double[] suma = sumarPorHilo(origenes, () -> new Espacio(n, maxDegree, true),
+                (espacio, s) -> espacio.acumularIntermediacion(graph, s));
+
+        double escala = 1.0 / ((double) origenes.length * (n - 2));
+        for (int v = 0; v < n; v++) {
+            resultado[v] = suma[v] * escala;
+        }
+        return resultado;
+    }
+
+    /**
+     * Centralidad de cercanía armónica aproximada (Eppstein–Wang):
+     * H(v) = 1/(n-1) · Σ 1/d(u, v), en [0, 1]. La versión armónica tolera grafos
+     * desconectados (los vértices inalcanzables aportan 0). En grafos dirigidos se
+     * miden las distancias hacia v (cercanía de entrada).
+     */
+    public static double[] cercaniaAproximada(Graph graph, double epsilon, double delta, long semilla) {
+        int n = graph.getnVertices();
+        double[] resultado = new double[n];
+        if (n < 2) return resultado;
+
+        int[] origenes = muestrearOrigenes(n, tamanoMuestra(n, epsilon, delta), semilla);
+
+        double[] suma = sumarPorHilo(origenes, () -> new Espacio(n, 0, false),
+                (espacio, s) -> espacio.acumularCercania(graph, s));
+
+        // E[1/d(S, v)] con S uniforme sobre los n vértices = H(v)·(n-1)/n
+        double escala = (double) n / ((double) origenes.length * (n - 1));
+        for (int v = 0; v < n; v++) {
+            resultado[v] = suma[v] * escala;
+        }
+        return resultado;
+    }
+
+    /**
+     * Estima el diámetro de la componente de 'inicio'.
+     * Primero hace un doble barrido (dos BFS) para obtener una cota inferior y elegir un
+     * vértice central; en grafos no dirigidos continúa con iFUB, que recorre los niveles
+     * del BFS desde ese centro calculando excentricidades en paralelo hasta que la
+     * diferencia entre cotas sea a lo sumo 'tolerancia' (0 = diámetro exacto).
+     * En grafos dirigidos iFUB no aplica y solo se reporta la cota del doble barrido.
+     */
+    public static EstimacionDiametro estimarDiametro(Graph graph, int inicio, int tolerancia) {
+        int n = graph.getnVertices();
+        if (inicio < 0 || inicio >= n) {
+            throw new IllegalArgumentException("Error: Vértice de inicio fuera de rango: " + inicio);
+        }
+        int[] distA = new int[n];
+        int[] distB = new int[n];
+        int[] orden = new int[n];
+
+        // Doble barrido: el vértice más lejano de 'inicio' es casi periférico
+        int alcanzados = graph.bfsFrom(inicio, distA, orden, null);
+        int a = orden[alcanzados - 1];
+        alcanzados = graph.bfsFrom(a, distA, orden, null);
+        int b = orden[alcanzados - 1];
+        int cotaInferior = distA[b];
+        int bfs = 2;
+
+        if (graph.isDirected()) {
+            // Sin simetría no hay cota superior barata: solo se informa la del barrido
+            return new EstimacionDiametro(cotaInferior, Integer.MAX_VALUE, bfs);
+        }
+
+        // Centro: vértice a mitad del camino a-b
+        graph.bfsFrom(b, distB, orden, null);
+        bfs++;
+        int centro = a;
+        for (int v = 0; v < n; v++) {
+            if (distA[v] == cotaInferior / 2 && distB[v] == cotaInferior - cotaInferior / 2) {
+                centro = v;
+                break;
+            }
+        }
+
+        // iFUB: niveles del BFS desde el centro, del más profundo hacia arriba
+        int[] distCentro = new int[n];
+        alcanzados = graph.bfsFrom(centro, distCentro, orden, null);
+        bfs++;
+        int nivel = distCentro[orden[alcanzados - 1]];
+        cotaInferior = Math.max(cotaInferior, nivel);
+        int cotaSuperior = 2 * nivel;
+
+        int fin = alcanzados; // orden[] está agrupado por niveles crecientes
+        while (cotaSuperior - cotaInferior > tolerancia && nivel > 0) {
+            int ini = fin;
+            while (ini > 0 && distCentro[orden[ini - 1]] == nivel) ini--;
+
+            int maxExcentricidad = maxExcentricidad(graph, orden, ini, fin);
+            bfs += fin - ini;
+
+            cotaInferior = Math.max(cotaInferior, maxExcentricidad);
+            if (cotaInferior > 2 * (nivel - 1)) {
+                cotaSuperior = cotaInferior;
+            } else {
+                cotaSuperior = 2 * (nivel - 1);
+            }
+            fin = ini;
+            nivel--;
+        }
+        return new EstimacionDiametro(cotaInferior, Math.max(cotaInferior, cotaSuperior), bfs);
+    }
+
+    /**
+     * Mayor excentricidad entre los vértices orden[ini..fin). Los vértices se reparten en un
+     * bloque contiguo por procesador y cada bloque reutiliza sus propios arreglos de BFS,
+     * que se liberan al terminar.
+     */
+    private static int maxExcentricidad(Graph graph, int[] orden, int ini, int fin) {
+        int n = graph.getnVertices();
+        int cantidad = fin - ini;
+        int bloques = Math.max(1, Math.min(cantidad, Runtime.getRuntime().availableProcessors()));
+        return IntStream.range(0, bloques).parallel().map(b -> {
+            int desde = ini + (int) ((long) cantidad * b / bloques);
+            int hasta = ini + (int) ((long) cantidad * (b + 1) / bloques);
+            int[] dist = new int[n];
+            int[] cola = new int[n];
+            int max = 0;
+            for (int i = desde; i < hasta; i++) {
+                int alcanzados = graph.bfsFrom(orden[i], dist, cola, null);
+                max = Math.max(max, dist[cola[alcanzados - 1]]);
+            }
+            return max;
+        }).max().orElse(0);
+    }
+
+    /**
+     * Reparte los orígenes en un bloque contiguo por procesador; cada bloque usa un único
+     * Espacio para todos sus BFS, así que la memoria de trabajo es fija (un juego de
+     * arreglos por hilo) y al final solo se combinan tantas sumas parciales como bloques.
+     */
+    private static double[] sumarPorHilo(int[] origenes, Supplier<Espacio> crear, ObjIntConsumer<Espacio> acumular) {
+        int bloques = Math.max(1, Math.min(origenes.length, Runtime.getRuntime().availableProcessors()));
+        Espacio[] espacios = new Espacio[bloques];
+        IntStream.range(0, bloques).parallel().forEach(b -> {
+            int ini = (int) ((long) origenes.length * b / bloques);
+            int fin = (int) ((long) origenes.length * (b + 1) / bloques);
+            Espacio espacio = crear.get();
+            for (int i = ini; i < fin; i++) {
+                acumular.accept(espacio, origenes[i]);
+            }
+            espacios[b] = espacio;
+        });
+        for (int b = 1; b < bloques; b++) {
+            espacios[0].combinar(espacios[b]);
+        }
+        return espacios[0].acumulado;
+    }
+
+    /**
+     * Elige k orígenes al azar (con reemplazo, como supone la cota de Hoeffding);
+     * si k cubre todo el grafo se devuelven todos los vértices.
+     */
+    private static int[] muestrearOrigenes(int n, int k, long semilla) {
+        if (k >= n) return IntStream.range(0, n).toArray();
+        Random random = new Random(semilla);
+        int[] origenes = new int[k];
+        for (int i = 0; i < k; i++) {
+            origenes[i] = random.nextInt(n);
+        }
+        return origenes;
+    }
+
+    /**
+     * Arreglos de trabajo de un bloque de orígenes: se reutilizan entre todos los BFS del
+     * bloque y acumulan su suma parcial, que luego se combina con la de los demás.
+     */
+    private static class Espacio {
+        final double[] acumulado;
+        final int[] dist;
+        final int[] orden;
+        final double[] caminos;
+        final double[] dependencia;
+        final int[] vecinos;
+
+        Espacio(int n, int maxDegree, boolean conCaminos) {
+            acumulado = new double[n];
+            dist = new int[n];
+            orden = new int[n];
+            // Los conteos de caminos y dependencias solo los usa la intermediación
+            caminos = conCaminos ? new double[n] : null;
+            dependencia = conCaminos ? new double[n] : null;
+            vecinos = new int[maxDegree];
+        }
+
+        /**
+         * Brandes desde s: las dependencias se acumulan recorriendo el orden BFS al revés
+         * y mirando solo sucesores (w con dist[w] = dist[v] + 1), así basta con los vecinos de salida.
+         */
+        void acumularIntermediacion(Graph graph, int s) {
+            int alcanzados = graph.bfsFrom(s, dist, orden, caminos);
+            for (int i = alcanzados - 1; i >= 0; i--) {
+                int v = orden[i];
+                double delta = 0;
+                int grado = graph.getNeighbors(v, vecinos);
+                for (int j = 0; j < grado; j++) {
+                    int w = vecinos[j];
+                    if (dist[w] == dist[v] + 1) {
+                        delta += caminos[v] / caminos[w] * (1 + dependencia[w]);
+                    }
+                }
+                dependencia[v] = delta;
+                if (v != s) acumulado[v] += delta;
+            }
+        }
+
+        void acumularCercania(Graph graph, int s) {
+            int alcanzados = graph.bfsFrom(s, dist, orden, null);
+            for (int i = 1; i < alcanzados; i++) {
+                int v = orden[i];
+                acumulado[v] += 1.0 / dist[v];
+            }
+        }
+
+        void combinar(Espacio otro) {
+            for (int v = 0; v < acumulado.length; v++) {
+                acumulado[v] += otro.acumulado[v];
+            }
+        }
+    }
+}
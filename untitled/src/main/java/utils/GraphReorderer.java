@@ -0,0 +1,169 @@
+package utils;
+
+import structures.Graph;
+
+import java.util.Arrays;
+import java.util.function.IntUnaryOperator;
+
+/**
+ * Calcula renumeraciones de vértices que mejoran la localidad en caché de los recorridos.
+ * Los vértices que se visitan juntos quedan con ids cercanos, de modo que sus listas de
+ * adyacencia y sus entradas en los arreglos de distancias/padres comparten líneas de caché.
+ * El grafo resultante conserva la correspondencia con los ids originales del archivo.
+ */
+public class GraphReorderer {
+
+    /**
+     * Estrategias de renumeración disponibles.
+     */
+    public enum Estrategia {
+        /** Reverse Cuthill–McKee: minimiza el ancho de banda de la matriz. */
+        RCM,
+        /** Vértices de mayor grado primero (los "hubs" quedan juntos). */
+        GRADO_DESCENDENTE,
+        /** Orden de visita de un BFS desde el vértice 0 (y cada componente restante). */
+        BFS
+    }
+
+    /**
+     * Devuelve un grafo equivalente renumerado según la estrategia indicada.
+     */
+    public static Graph reordenar(Graph graph, Estrategia estrategia) {
+        return graph.reorder(calcularOrden(graph, estrategia));
+    }
+
+    /**
+     * Calcula la permutación para la estrategia dada: orden[nuevoId] = idActual.
+     */
+    public static int[] calcularOrden(Graph graph, Estrategia estrategia) {
+        switch (estrategia) {
+            case RCM:
+                return ordenRCM(graph);
+            case GRADO_DESCENDENTE:
+                return ordenPorGrado(graph);
+            case BFS:
+                return ordenBFS(graph);
+            default:
+                throw new IllegalArgumentException("Error: Estrategia de reordenamiento no soportada: " + estrategia);
+        }
+    }
+
+    /**
+     * Reverse Cuthill–McKee. Cada componente se recorre por niveles empezando en su
+     * vértice de menor grado y visitando los vecinos en orden creciente de grado;
+     * al final se invierte el orden completo.
+     */
+    private static int[] ordenRCM(Graph graph) {
+        int n = graph.getnVertices();
+        int[] grado = grados(graph);
+        int[] buffer = new int[maximo(grado)];
+
+        // Candidatos a raíz ordenados por grado ascendente (empates por id)
+        int[] raices = ordenarPorClave(n, v -> grado[v]);
+
+        int[] orden = new int[n];
+        boolean[] visited = new boolean[n];
+        long[] vecinos = new long[maximo(grado)];
+        int cabeza = 0, cola = 0;
+
+        for (int raiz : raices) {
+            if (visited[raiz]) continue;
+            visited[raiz] = true;
+            orden[cola++] = raiz;
+
+            while (cabeza < cola) {
+                int u = orden[cabeza++];
+                int k = 0;
+                int d = graph.getNeighbors(u, buffer);
+                for (int i = 0; i < d; i++) {
+                    int v = buffer[i];
+                    if (!visited[v]) {
+                        visited[v] = true;
+                        vecinos[k++] = ((long) grado[v] << 32) | v;
+                    }
+                }
+                Arrays.sort(vecinos, 0, k);
+                for (int i = 0; i < k; i++) {
+                    orden[cola++] = (int) vecinos[i];
+                }
+            }
+        }
+
+        // Inversión del orden (la "R" de RCM)
+        for (int i = 0, j = n - 1; i < j; i++, j--) {
+            int tmp = orden[i];
+            orden[i] = orden[j];
+            orden[j] = tmp;
+        }
+        return orden;
+    }
+
+    /**
+     * Ordena los vértices por grado descendente (empates por id ascendente).
+     */
+    private static int[] ordenPorGrado(Graph graph) {
+        int[] grado = grados(graph);
+        int max = maximo(grado);
+        return ordenarPorClave(graph.getnVertices(), v -> max - grado[v]);
+    }
+
+    /**
+     * Orden de descubrimiento BFS cubriendo todas las componentes.
+     */
+    private static int[] ordenBFS(Graph graph) {
+        int n = graph.getnVertices();
+        int[] buffer = new int[maximo(grados(graph))];
+        int[] orden = new int[n];
+        boolean[] visited = new boolean[n];
+        int cabeza = 0, cola = 0;
+
+        for (int raiz = 0; raiz < n; raiz++) {
+            if (visited[raiz]) continue;
+            visited[raiz] = true;
+            orden[cola++] = raiz;
+            while (cabeza < cola) {
+                int u = orden[cabeza++];
+                int d = graph.getNeighbors(u, buffer);
+                for (int i = 0; i < d; i++) {
+                    int v = buffer[i];
+                    if (!visited[v]) {
+                        visited[v] = true;
+                        orden[cola++] = v;
+                    }
+                }
+            }
+        }
+        return orden;
+    }
+
+    private static int[] grados(Graph graph) {
+        int[] grado = new int[graph.getnVertices()];
+        for (int v = 0; v < grado.length; v++) {
+            grado[v] = graph.degree(v);
+        }
+        return grado;
+    }
+
+    private static int maximo(int[] valores) {
+        int max = 0;
+        for (int v : valores) max = Math.max(max, v);
+        return max;
+    }
+
+    /**
+     * Ordena 0..n-1 por una clave entera no negativa, desempatando por id,
+     * empaquetando (clave, id) en un long para evitar boxing.
+     */
+    private static int[] ordenarPorClave(int n, IntUnaryOperator clave) {
+        long[] claves = new long[n];
+        for (int v = 0; v < n; v++) {
+            claves[v] = ((long) clave.applyAsInt(v) << 32) | v;
+        }
+        Arrays.sort(claves);
+        int[] orden = new int[n];
+        for (int i = 0; i < n; i++) {
+            orden[i] = (int) claves[i];
+        }
+        return orden;
+    }
+}
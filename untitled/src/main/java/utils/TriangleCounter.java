@@ -0,0 +1,266 @@
+package utils;
+
+import structures.Graph;
+
+import java.util.Arrays;
+import java.util.stream.IntStream;
+
+/**
+ * Conteo de triángulos y coeficientes de clustering para grafos no dirigidos.
+ *
+ * Cada arista se orienta del vértice de menor grado al de mayor grado (empates por id),
+ * de modo que cada triángulo se encuentra exactamente una vez y las listas a intersectar
+ * quedan cortas incluso alrededor de los "hubs". Los triángulos de la arista u→v son los
+ * vecinos comunes de las listas orientadas de u y v, que se intersectan con un merge
+ * lineal o, si una lista es mucho más corta que la otra, con búsqueda galopante.
+ * Los vértices se reparten en un bloque por procesador y cada bloque acumula sus conteos por separado.
+ */
+public class TriangleCounter {
+
+    // Si una lista es al menos este factor más larga que la otra, se usa búsqueda galopante
+    private static final int FACTOR_GALOPE = 16;
+
+    /**
+     * Cantidad de triángulos en los que participa cada vértice.
+     */
+    public static long[] triangulosPorVertice(Graph graph) {
+        if (graph.isDirected()) {
+            throw new IllegalArgumentException("Error: El conteo de triángulos requiere un grafo no dirigido.");
+        }
+        int n = graph.getnVertices();
+        int[][] orientado = orientar(graph);
+        int[] offsets = orientado[0];
+        int[] targets = orientado[1];
+
+        // Un arreglo de conteos por bloque; al final se suman todos en el primero
+        long[][] conteos = new long[bloques(n)][];
+        enBloques(n, (b, desde, hasta) -> {
+            long[] conteo = new long[n];
+            for (int u = desde; u < hasta; u++) {
+                for (int i = offsets[u]; i < offsets[u + 1]; i++) {
+                    int v = targets[i];
+                    int encontrados = intersectar(targets, offsets[u], offsets[u + 1],
+                            offsets[v], offsets[v + 1], conteo);
+                    conteo[u] += encontrados;
+                    conteo[v] += encontrados;
+                }
+            }
+            conteos[b] = conteo;
+        });
+        long[] total = conteos[0];
+        for (int b = 1; b < conteos.length; b++) {
+            for (int v = 0; v < n; v++) total[v] += conteos[b][v];
+        }
+        return total;
+    }
+
+    /**
+     * Cantidad total de triángulos del grafo.
+     */
+    public static long contarTriangulos(Graph graph) {
+        return contarTriangulos(triangulosPorVertice(graph));
+    }
+
+    /**
+     * Cantidad total de triángulos a partir de los conteos por vértice ya calculados.
+     */
+    public static long contarTriangulos(long[] triangulos) {
+        long suma = 0;
+        for (long t : triangulos) suma += t;
+        return suma / 3;
+    }
+
+    /**
+     * Coeficiente de clustering local: fracción de pares de vecinos de v que también
+     * son vecinos entre sí, 2·t(v) / (d(v)·(d(v)-1)). Es 0 si v tiene menos de dos vecinos.
+     */
+    public static double[] coeficientesClustering(Graph graph) {
+        return coeficientesClustering(graph, triangulosPorVertice(graph));
+    }
+
+    /**
+     * Coeficientes de clustering locales a partir de los conteos de
+     * {@link #triangulosPorVertice}, sin volver a contar los triángulos.
+     */
+    public static double[] coeficientesClustering(Graph graph, long[] triangulos) {
+        if (triangulos.length != graph.getnVertices()) {
+            throw new IllegalArgumentException("Error: Se esperaban " + graph.getnVertices()
+                    + " conteos de triángulos y hay " + triangulos.length + ".");
+        }
+        double[] coeficientes = new double[triangulos.length];
+        int[] buffer = new int[graph.maxDegree()];
+        for (int v = 0; v < coeficientes.length; v++) {
+            long d = gradoSinLazos(graph, v, buffer);
+            if (d >= 2) {
+                coeficientes[v] = 2.0 * triangulos[v] / (d * (d - 1));
+            }
+        }
+        return coeficientes;
+    }
+
+    /**
+     * Promedio de los coeficientes de clustering locales.
+     */
+    public static double clusteringPromedio(Graph graph) {
+        return clusteringPromedio(graph, triangulosPorVertice(graph));
+    }
+
+    /**
+     * Promedio de los coeficientes de clustering a partir de los conteos ya calculados.
+     */
+    public static double clusteringPromedio(Graph graph, long[] triangulos) {
+        double[] coeficientes = coeficientesClustering(graph, triangulos);
+        if (coeficientes.length == 0) return 0;
+        double suma = 0;
+        for (double c : coeficientes) suma += c;
+        return suma / coeficientes.length;
+    }
+
+    // --- Orientación por grado ---
+
+    /**
+     * Arma la lista de adyacencia orientada (CSR): u→v solo si v va después de u
+     * en el orden por grado. Los lazos se descartan y cada lista queda ordenada por id.
+     *
+     * @return {offsets, targets}
+     */
+    private static int[][] orientar(Graph graph) {
+        int n = graph.getnVertices();
+        int maxDegree = graph.maxDegree();
+        int[] grado = new int[n];
+        for (int v = 0; v < n; v++) grado[v] = graph.degree(v);
+
+        // 1. Cantidad de vecinos "posteriores" de cada vértice
+        int[] cantidad = new int[n];
+        enBloques(n, (b, desde, hasta) -> {
+            int[] vecinos = new int[maxDegree];
+            for (int u = desde; u < hasta; u++) {
+                int d = graph.getNeighbors(u, vecinos);
+                int c = 0;
+                for (int i = 0; i < d; i++) {
+                    if (posterior(u, vecinos[i], grado)) c++;
+                }
+                cantidad[u] = c;
+            }
+        });
+
+        int[] offsets = new int[n + 1];
+        for (int u = 0; u < n; u++) offsets[u + 1] = offsets[u] + cantidad[u];
+
+        // 2. Llenado (cada vértice escribe solo su tramo)
+        int[] targets = new int[offsets[n]];
+        enBloques(n, (b, desde, hasta) -> {
+            int[] vecinos = new int[maxDegree];
+            for (int u = desde; u < hasta; u++) {
+                int d = graph.getNeighbors(u, vecinos);
+                int pos = offsets[u];
+                for (int i = 0; i < d; i++) {
+                    if (posterior(u, vecinos[i], grado)) targets[pos++] = vecinos[i];
+                }
+                Arrays.sort(targets, offsets[u], pos);
+            }
+        });
+        return new int[][]{offsets, targets};
+    }
+
+    // --- Reparto entre hilos ---
+
+    private interface Bloque {
+        void ejecutar(int indice, int desde, int hasta);
+    }
+
+    private static int bloques(int n) {
+        return Math.max(1, Math.min(n, Runtime.getRuntime().availableProcessors()));
+    }
+
+    /**
+     * Reparte los vértices 0..n-1 en un bloque contiguo por procesador y ejecuta cada
+     * bloque en paralelo. Cada bloque reserva sus propios arreglos de trabajo, así que la
+     * memoria extra es fija y se libera al terminar.
+     */
+    private static void enBloques(int n, Bloque bloque) {
+        int bloques = bloques(n);
+        IntStream.range(0, bloques).parallel().forEach(b ->
+                bloque.ejecutar(b, (int) ((long) n * b / bloques), (int) ((long) n * (b + 1) / bloques)));
+    }
+
+    private static boolean posterior(int u, int v, int[] grado) {
+        return grado[u] < grado[v] || (grado[u] == grado[v] && u < v);
+    }
+
+    private static long gradoSinLazos(Graph graph, int v, int[] buffer) {
+        int d = graph.getNeighbors(v, buffer);
+        long sinLazos = 0;
+        for (int i = 0; i < d; i++) {
+            if (buffer[i] != v) sinLazos++;
+        }
+        return sinLazos;
+    }
+
+    // --- Intersección de listas ordenadas ---
+
+    /**
+     * Cuenta los elementos comunes de targets[aIni..aFin) y targets[bIni..bFin) (ambos
+     * ordenados) y suma 1 en conteo[w] por cada elemento común w.
+     */
+    private static int intersectar(int[] targets, int aIni, int aFin, int bIni, int bFin, long[] conteo) {
+        int largoA = aFin - aIni;
+        int largoB = bFin - bIni;
+        if (largoA == 0 || largoB == 0) return 0;
+        if ((long) largoA * FACTOR_GALOPE < largoB) return galopar(targets, aIni, aFin, bIni, bFin, conteo);
+        if ((long) largoB * FACTOR_GALOPE < largoA) return galopar(targets, bIni, bFin, aIni, aFin, conteo);
+
+        int encontrados = 0;
+        int i = aIni, j = bIni;
+        while (i < aFin && j < bFin) {
+            int x = targets[i], y = targets[j];
+            if (x < y) {
+                i++;
+            } else if (x > y) {
+                j++;
+            } else {
+                conteo[x]++;
+                encontrados++;
+                i++;
+                j++;
+            }
+        }
+        return encontrados;
+    }
+
+    /**
+     * Intersección para listas de tamaños muy distintos: por cada elemento de la lista
+     * corta se avanza en la larga con saltos exponenciales y luego búsqueda binaria.
+     */
+    private static int galopar(int[] targets, int cortaIni, int cortaFin, int largaIni, int largaFin, long[] conteo) {
+        int encontrados = 0;
+        int pos = largaIni;
+        for (int i = cortaIni; i < cortaFin && pos < largaFin; i++) {
+            int x = targets[i];
+
+            // Saltos exponenciales hasta pasar x
+            int paso = 1;
+            int hi = pos;
+            while (hi < largaFin && targets[hi] < x) {
+                pos = hi + 1;
+                hi += paso;
+                paso <<= 1;
+            }
+            // Búsqueda binaria en [pos, min(hi, largaFin)]
+            int lo = pos;
+            int fin = Math.min(hi, largaFin - 1);
+            while (lo <= fin) {
+                int mid = (lo + fin) >>> 1;
+                if (targets[mid] < x) lo = mid + 1;
+                else fin = mid - 1;
+            }
+            pos = lo;
+            if (pos < largaFin && targets[pos] == x) {
+                conteo[x]++;
+                encontrados++;
+                pos++;
+            }
+        }
+        return encontrados;
+    }
+}
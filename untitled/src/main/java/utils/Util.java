@@ -1,4 +1,7 @@
 package utils;
+
+import java.util.stream.IntStream;
+
 /**
  * Clase utilitaria para operaciones relacionadas con grafos.
  * @author Jaime Landázuri
@@ -8,20 +11,21 @@ public class Util {
 
     /**
      * Determina si un grafo representado por una matriz de adyacencia es dirigido.
+     * Las filas se revisan en paralelo y la búsqueda se corta en la primera asimetría.
      *
      * @param matrix     Matriz de adyacencia del grafo.
      * @param nVertices  Número de vértices en el grafo.
      * @return true si el grafo es dirigido, false si es no dirigido.
      */
     public static boolean isDirected(int[][] matrix, int nVertices) {
-        for (int i = 0; i < nVertices; i++) {
+        return IntStream.range(0, nVertices).parallel().anyMatch(i -> {
             for (int j = i + 1; j < nVertices; j++) { // recorremos el triangulo superior
                 //(ida != vuelta) -> es dirigido
                 if (matrix[i][j] != matrix[j][i]) {
                     return true;
                 }
             }
-        }
-        return false;
+            return false;
+        });
     }
 }